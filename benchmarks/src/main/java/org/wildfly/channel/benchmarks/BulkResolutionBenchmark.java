@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel.benchmarks;
+
+import static org.wildfly.channel.ChannelManifestMapper.CURRENT_SCHEMA_VERSION;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wildfly.channel.ArtifactCoordinate;
+import org.wildfly.channel.Channel;
+import org.wildfly.channel.ChannelSession;
+import org.wildfly.channel.MavenArtifact;
+
+/**
+ * Bulk resolution of the artifacts of a feature-pack, where every module is provisioned with its jar, pom, sources
+ * and signature. The number of requests made to the repository by a resolution is reported by the
+ * {@code metadataRequests} and {@code artifactRequests} counters, summed over the measurement iterations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkResolutionBenchmark {
+
+    @Param({"200"})
+    int moduleCount;
+
+    @Param({"1"})
+    long latencyMillis;
+
+    private StandInRepository repository;
+    private ChannelSession session;
+    private List<ArtifactCoordinate> coordinates;
+
+    /**
+     * Requests made to the repository by the last resolution.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Requests {
+        public long metadataRequests;
+        public long artifactRequests;
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        repository = new StandInRepository(Files.createTempDirectory("bulk-resolution"), latencyMillis,
+                Set.of("1.0.0.Final", "1.1.0.Final", "1.2.0.Final", "2.0.0.Final"));
+        final Channel channel = repository.addChannel("feature-pack", "schemaVersion: " + CURRENT_SCHEMA_VERSION + "\n" +
+                "streams:\n" +
+                "  - groupId: org.benchmark\n" +
+                "    artifactId: '*'\n" +
+                "    versionPattern: '1\\..*'");
+        session = new ChannelSession(List.of(channel), repository);
+
+        coordinates = new ArrayList<>();
+        for (int i = 0; i < moduleCount; i++) {
+            final String artifactId = "module-" + i;
+            coordinates.add(new ArtifactCoordinate("org.benchmark", artifactId, "jar", null, "1.0.0.Final"));
+            coordinates.add(new ArtifactCoordinate("org.benchmark", artifactId, "pom", null, "1.0.0.Final"));
+            coordinates.add(new ArtifactCoordinate("org.benchmark", artifactId, "jar", "sources", "1.0.0.Final"));
+            coordinates.add(new ArtifactCoordinate("org.benchmark", artifactId, "jar.asc", null, "1.0.0.Final"));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        session.close();
+        repository.delete();
+    }
+
+    @Setup(Level.Invocation)
+    public void forgetVersions() {
+        // the session remembers the found versions, forget them to measure the lookup in the repository
+        session.invalidate();
+    }
+
+    @Benchmark
+    public List<MavenArtifact> resolveMavenArtifacts(Requests requests) {
+        final long metadataRequests = repository.getMetadataRequests();
+        final long artifactRequests = repository.getArtifactRequests();
+        final List<MavenArtifact> artifacts = session.resolveMavenArtifacts(coordinates);
+        requests.metadataRequests = repository.getMetadataRequests() - metadataRequests;
+        requests.artifactRequests = repository.getArtifactRequests() - artifactRequests;
+        return artifacts;
+    }
+}
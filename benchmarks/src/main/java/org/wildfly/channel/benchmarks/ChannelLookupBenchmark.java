@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel.benchmarks;
+
+import static org.wildfly.channel.ChannelManifestMapper.CURRENT_SCHEMA_VERSION;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wildfly.channel.Channel;
+import org.wildfly.channel.ChannelSession;
+import org.wildfly.channel.VersionResult;
+
+/**
+ * Latency of a single latest version lookup in a session with several channels, each of them having to query
+ * the repository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChannelLookupBenchmark {
+
+    @Param({"4", "6"})
+    int channelCount;
+
+    @Param({"20"})
+    long latencyMillis;
+
+    @Param({"false", "true"})
+    boolean concurrentChannelLookup;
+
+    private StandInRepository repository;
+    private ChannelSession session;
+
+    @Setup
+    public void setUp() throws Exception {
+        repository = new StandInRepository(Files.createTempDirectory("channel-lookup"), latencyMillis,
+                Set.of("1.0.0.Final", "1.1.0.Final", "1.2.0.Final", "2.0.0.Final"));
+        final List<Channel> channels = new ArrayList<>();
+        for (int i = 0; i < channelCount; i++) {
+            channels.add(repository.addChannel("channel-" + i, "schemaVersion: " + CURRENT_SCHEMA_VERSION + "\n" +
+                    "id: manifest-" + i + "\n" +
+                    "streams:\n" +
+                    "  - groupId: org.benchmark\n" +
+                    "    artifactId: '*'\n" +
+                    "    versionPattern: '1\\..*'"));
+        }
+        session = new ChannelSession.Builder(channels, repository)
+                .setConcurrentChannelLookup(concurrentChannelLookup)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        session.close();
+        repository.delete();
+    }
+
+    @Benchmark
+    public VersionResult findLatestVersion() {
+        // the session remembers the found versions, forget them to measure the lookup in the channels
+        session.invalidate();
+        return session.findLatestMavenArtifactVersion("org.benchmark", "foo", "jar", null, null);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel.benchmarks;
+
+import static org.wildfly.channel.ChannelManifestMapper.CURRENT_SCHEMA_VERSION;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wildfly.channel.BinaryManifestMapper;
+import org.wildfly.channel.ChannelManifest;
+import org.wildfly.channel.ChannelManifestMapper;
+import org.wildfly.channel.Stream;
+
+/**
+ * Reading of a large aggregated manifest, mixing fixed versions and version patterns, from YAML and from its binary
+ * encoding. {@code binaryLookup} opens the binary manifest and looks up a single stream, without decoding the manifest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ManifestParsingBenchmark {
+
+    @Param({"20000"})
+    int streamCount;
+
+    private String yaml;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() {
+        final StringBuilder sb = new StringBuilder("schemaVersion: " + CURRENT_SCHEMA_VERSION + "\n" +
+                "id: aggregated\n" +
+                "streams:\n");
+        for (int i = 0; i < streamCount; i++) {
+            sb.append("  - groupId: org.benchmark.group").append(i % 100).append('\n')
+                    .append("    artifactId: artifact-").append(i).append('\n');
+            if (i % 10 == 0) {
+                sb.append("    versionPattern: '").append(i % 7).append("\\..*'\n");
+            } else {
+                sb.append("    version: ").append(i % 7).append(".0.").append(i).append(".Final\n");
+            }
+        }
+        yaml = sb.toString();
+        binary = BinaryManifestMapper.toBinary(ChannelManifestMapper.fromString(yaml));
+    }
+
+    @Benchmark
+    public ChannelManifest fromString() {
+        return ChannelManifestMapper.fromString(yaml);
+    }
+
+    @Benchmark
+    public ChannelManifest fromBinary() {
+        return BinaryManifestMapper.manifestFrom(ByteBuffer.wrap(binary)).toChannelManifest();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Optional<Stream> binaryLookup() {
+        return BinaryManifestMapper.manifestFrom(ByteBuffer.wrap(binary)).findStreamFor("org.benchmark.group42", "artifact-1242");
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.wildfly.channel.ArtifactCoordinate;
+import org.wildfly.channel.Channel;
+import org.wildfly.channel.ChannelMetadataCoordinate;
+import org.wildfly.channel.spi.MavenVersionsResolver;
+import org.wildfly.channel.version.VersionMatcher;
+
+/**
+ * Local stand-in for a remote Maven repository.
+ * <p>
+ * Every artifact is available in the same {@code versions} and each request to the repository takes {@code latencyMillis}
+ * to simulate the network round trip. The channel manifests are stored in a local directory. The requests for version
+ * metadata and for artifact files are counted.
+ */
+public class StandInRepository implements MavenVersionsResolver.Factory {
+
+    public static final String MANIFEST_GROUP_ID = "org.wildfly.channel.benchmarks";
+    public static final String MANIFEST_VERSION = "1.0.0";
+
+    private final Path root;
+    private final long latencyMillis;
+    private final Set<String> versions;
+    private final AtomicLong metadataRequests = new AtomicLong();
+    private final AtomicLong artifactRequests = new AtomicLong();
+
+    /**
+     * @param root - directory where the manifests are stored
+     * @param latencyMillis - duration of every request to the repository
+     * @param versions - versions available for every artifact
+     */
+    public StandInRepository(Path root, long latencyMillis, Set<String> versions) {
+        this.root = root;
+        this.latencyMillis = latencyMillis;
+        this.versions = versions;
+    }
+
+    /**
+     * Store the {@code manifest} in this repository and create a channel using it.
+     *
+     * @param name - name of the channel, also used as the artifactId of its manifest
+     * @param manifest - YAML content of the channel manifest
+     * @return the channel definition
+     */
+    public Channel addChannel(String name, String manifest) throws IOException {
+        Files.writeString(root.resolve(name + ".yaml"), manifest);
+        return new Channel.Builder()
+                .setName(name)
+                .addRepository("stand-in", root.toUri().toString())
+                .setManifestCoordinate(MANIFEST_GROUP_ID, name, MANIFEST_VERSION)
+                .build();
+    }
+
+    /**
+     * Delete the stored manifests and the {@code root} directory.
+     */
+    public void delete() throws IOException {
+        try (java.util.stream.Stream<Path> files = Files.walk(root)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * @return the number of requests for the versions of an artifact made so far
+     */
+    public long getMetadataRequests() {
+        return metadataRequests.get();
+    }
+
+    /**
+     * @return the number of requests for artifact files made so far
+     */
+    public long getArtifactRequests() {
+        return artifactRequests.get();
+    }
+
+    @Override
+    public MavenVersionsResolver create(Channel channel) {
+        return new Resolver();
+    }
+
+    private void simulateLatency() {
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the stand-in repository", e);
+        }
+    }
+
+    private class Resolver implements MavenVersionsResolver {
+
+        @Override
+        public Set<String> getAllVersions(String groupId, String artifactId, String extension, String classifier) {
+            metadataRequests.incrementAndGet();
+            simulateLatency();
+            return new HashSet<>(versions);
+        }
+
+        @Override
+        public File resolveArtifact(String groupId, String artifactId, String extension, String classifier, String version) {
+            artifactRequests.incrementAndGet();
+            simulateLatency();
+            return artifactFile(artifactId, version);
+        }
+
+        @Override
+        public List<File> resolveArtifacts(List<ArtifactCoordinate> coordinates) {
+            artifactRequests.incrementAndGet();
+            simulateLatency();
+            final List<File> files = new ArrayList<>(coordinates.size());
+            for (ArtifactCoordinate coordinate : coordinates) {
+                files.add(artifactFile(coordinate.getArtifactId(), coordinate.getVersion()));
+            }
+            return files;
+        }
+
+        @Override
+        public List<URL> resolveChannelMetadata(List<? extends ChannelMetadataCoordinate> manifestCoords) {
+            simulateLatency();
+            final List<URL> urls = new ArrayList<>(manifestCoords.size());
+            for (ChannelMetadataCoordinate coordinate : manifestCoords) {
+                try {
+                    urls.add(coordinate.getUrl() != null ? coordinate.getUrl()
+                            : root.resolve(coordinate.getArtifactId() + ".yaml").toUri().toURL());
+                } catch (MalformedURLException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return urls;
+        }
+
+        @Override
+        public String getMetadataReleaseVersion(String groupId, String artifactId) {
+            metadataRequests.incrementAndGet();
+            simulateLatency();
+            return VersionMatcher.getLatestVersion(versions).orElseThrow();
+        }
+
+        @Override
+        public String getMetadataLatestVersion(String groupId, String artifactId) {
+            metadataRequests.incrementAndGet();
+            simulateLatency();
+            return VersionMatcher.getLatestVersion(versions).orElseThrow();
+        }
+
+        private File artifactFile(String artifactId, String version) {
+            return root.resolve(artifactId + "-" + version + ".jar").toFile();
+        }
+    }
+}
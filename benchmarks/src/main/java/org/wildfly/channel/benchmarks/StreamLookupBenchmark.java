@@ -0,0 +1,112 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.wildfly.channel.ChannelManifest;
+import org.wildfly.channel.Stream;
+
+/**
+ * Lookup of the streams of a large manifest, comparing {@link ChannelManifest#findStreamFor(String, String)} with
+ * a scan of all the streams. The looked up artifacts are a mix of exact matches, {@code groupId:*} matches and
+ * artifacts without a stream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StreamLookupBenchmark {
+
+    private static final int LOOKUPS = 300;
+
+    @Param({"4000"})
+    int streamCount;
+
+    private ChannelManifest manifest;
+    private final List<String[]> lookups = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        final ChannelManifest.Builder builder = new ChannelManifest.Builder();
+        final int groupCount = streamCount / 20;
+        for (int i = 0; i < streamCount; i++) {
+            builder.addStreams(new Stream("org.benchmark.group" + (i % groupCount), "artifact-" + i, "1.0." + i + ".Final"));
+        }
+        for (int g = 0; g < groupCount; g += 2) {
+            builder.addStreams(new Stream("org.benchmark.group" + g, "*", "2.0.0.Final"));
+        }
+        manifest = builder.build();
+
+        for (int i = 0; i < LOOKUPS; i++) {
+            final int stream = (i * 7919) % streamCount;
+            switch (i % 3) {
+                case 0:
+                    lookups.add(new String[]{"org.benchmark.group" + (stream % groupCount), "artifact-" + stream});
+                    break;
+                case 1:
+                    lookups.add(new String[]{"org.benchmark.group" + (stream % groupCount), "unlisted-" + stream});
+                    break;
+                default:
+                    lookups.add(new String[]{"org.unlisted.group" + stream, "artifact-" + stream});
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void findStreamFor(Blackhole blackhole) {
+        for (String[] lookup : lookups) {
+            blackhole.consume(manifest.findStreamFor(lookup[0], lookup[1]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void scanStreams(Blackhole blackhole) {
+        for (String[] lookup : lookups) {
+            blackhole.consume(scan(lookup[0], lookup[1]));
+        }
+    }
+
+    // the lookup done by ChannelManifest#findStreamFor before the streams were indexed
+    private Optional<Stream> scan(String groupId, String artifactId) {
+        Optional<Stream> stream = manifest.getStreams().stream().filter(s -> s.getGroupId().equals(groupId) && s.getArtifactId().equals(artifactId)).findFirst();
+        if (stream.isPresent()) {
+            return stream;
+        }
+        return manifest.getStreams().stream().filter(s -> s.getGroupId().equals(groupId) && s.getArtifactId().equals("*")).findFirst();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wildfly.channel.version.Version;
+import org.wildfly.channel.version.VersionMatcher;
+import org.wildfly.channel.version.VersionPatternMatcher;
+
+/**
+ * Ordering of the versions of an artifact, with {@link VersionMatcher#COMPARATOR} and with parsed {@link Version}s.
+ * The versions follow the WildFly schemes: {@code 27.0.0.Alpha1}, {@code 27.0.1.Final},
+ * {@code 2.2.19.SP1-redhat-00001}...
+ * Run with {@code -prof gc} to compare the allocations.
+ * <p>
+ * {@code latestMatchingVersion} finds the latest version of a {@code versionPattern} stream that is not blocklisted,
+ * {@code latestMatchingVersionBySort} does it by copying and sorting the matching versions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VersionComparatorBenchmark {
+
+    private List<String> versions;
+    private List<Version> parsedVersions;
+    private Set<String> versionSet;
+    private final Set<String> blocklist = Set.of("27.0.2.Final", "2.2.29.SP1-redhat-00003");
+    private final Pattern pattern = Pattern.compile("(27|2\\.2)\\..*");
+
+    @Setup
+    public void setUp() {
+        versions = new ArrayList<>();
+        for (int major = 20; major < 32; major++) {
+            for (int micro = 0; micro < 3; micro++) {
+                for (String qualifier : List.of("Alpha1", "Alpha2", "Beta1", "CR1", "Final")) {
+                    versions.add(major + ".0." + micro + "." + qualifier);
+                }
+            }
+        }
+        for (int micro = 10; micro < 30; micro++) {
+            for (int build = 1; build < 4; build++) {
+                versions.add("2.2." + micro + ".Final-redhat-0000" + build);
+                versions.add("2.2." + micro + ".SP1-redhat-0000" + build);
+            }
+        }
+        // the versions are listed by Maven metadata in no particular order
+        Collections.shuffle(versions, new Random(42));
+        parsedVersions = new ArrayList<>();
+        for (String version : versions) {
+            parsedVersions.add(Version.parse(version));
+        }
+        versionSet = new HashSet<>(versions);
+    }
+
+    @Benchmark
+    public List<String> sortStrings() {
+        final List<String> sorted = new ArrayList<>(versions);
+        sorted.sort(VersionMatcher.COMPARATOR);
+        return sorted;
+    }
+
+    @Benchmark
+    public List<Version> sortParsedVersions() {
+        final List<Version> sorted = new ArrayList<>(parsedVersions);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    @Benchmark
+    public List<Version> parseAndSortVersions() {
+        final List<Version> sorted = new ArrayList<>(versions.size());
+        for (String version : versions) {
+            sorted.add(Version.parse(version));
+        }
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    @Benchmark
+    public String maxString() {
+        return Collections.max(versions, VersionMatcher.COMPARATOR);
+    }
+
+    @Benchmark
+    public Version maxParsedVersion() {
+        return Collections.max(parsedVersions);
+    }
+
+    @Benchmark
+    public Optional<String> latestMatchingVersionBySort() {
+        final Set<String> accepted = new HashSet<>(versionSet);
+        accepted.removeAll(blocklist);
+        final List<String> matches = new ArrayList<>();
+        for (String version : accepted) {
+            if (pattern.matcher(version).matches()) {
+                matches.add(version);
+            }
+        }
+        if (matches.isEmpty()) {
+            return Optional.empty();
+        }
+        matches.sort(VersionMatcher.COMPARATOR);
+        return Optional.of(matches.get(matches.size() - 1));
+    }
+
+    @Benchmark
+    public Optional<String> latestMatchingVersion() {
+        return VersionPatternMatcher.of(pattern).matches(versionSet, v -> !blocklist.contains(v));
+    }
+}
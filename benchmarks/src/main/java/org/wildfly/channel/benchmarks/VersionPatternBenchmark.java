@@ -0,0 +1,86 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel.benchmarks;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wildfly.channel.version.VersionMatcher;
+import org.wildfly.channel.version.VersionPatternMatcher;
+
+/**
+ * Latest version of a {@code versionPattern} stream, with the patterns of the WildFly manifests.
+ * <p>
+ * {@code patternMatcher} uses {@link VersionPatternMatcher}, which rejects the versions without the literal prefix or
+ * suffix of the pattern before running the regex engine, {@code regexOnly} runs the regex engine on every version.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VersionPatternBenchmark {
+
+    @Param({"5\\.0\\.1\\..*", "2\\.16\\..*Final", "2\\.2\\.\\d+\\.SP1-redhat-.*", ".*-redhat-\\d+"})
+    public String versionPattern;
+
+    private Pattern pattern;
+    private VersionPatternMatcher matcher;
+    private Set<String> versions;
+
+    @Setup
+    public void setUp() {
+        pattern = Pattern.compile(versionPattern);
+        matcher = new VersionPatternMatcher(pattern);
+        versions = new HashSet<>();
+        for (int major = 1; major < 6; major++) {
+            for (int minor = 0; minor < 20; minor++) {
+                for (int micro = 0; micro < 5; micro++) {
+                    for (String qualifier : List.of("Alpha1", "Beta1", "CR1", "Final", "SP1-redhat-00001", "Final-redhat-00002")) {
+                        versions.add(major + "." + minor + "." + micro + "." + qualifier);
+                    }
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Optional<String> patternMatcher() {
+        return matcher.matches(versions);
+    }
+
+    @Benchmark
+    public Optional<String> regexOnly() {
+        return VersionMatcher.getLatestVersion(versions, v -> pattern.matcher(v).matches());
+    }
+}
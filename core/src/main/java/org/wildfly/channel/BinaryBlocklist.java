@@ -0,0 +1,129 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel;
+
+import static org.wildfly.channel.BinaryFormat.NONE;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Blocklist read from its binary encoding, written by {@link BinaryManifestMapper#toBinary(Blocklist)}.
+ * <p>
+ * The blocked versions are looked up directly in the buffer. The blocklist is safe to use from several threads.
+ * <p>
+ * Following the string table of the {@link BinaryFormat binary format}, a blocklist holds:
+ * <pre>
+ * int      schemaVersion
+ * int      number of entries E
+ * int[E*4] groupId, artifactId, index of the first version and number of versions of each entry, sorted by groupId
+ *          and artifactId
+ * int      number of versions V
+ * int[V]   versions of the entries
+ * </pre>
+ */
+public class BinaryBlocklist {
+
+    static final int ENTRY_SIZE = 16;
+
+    private final ByteBuffer buffer;
+    private final BinaryFormat.StringTable strings;
+    private final int schemaVersion;
+    private final int entries;
+    private final int entryCount;
+    private final int versions;
+    private final int versionCount;
+
+    BinaryBlocklist(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.strings = BinaryFormat.readHeader(buffer, BinaryFormat.BLOCKLIST);
+        this.schemaVersion = strings.end();
+        this.entries = BinaryFormat.checkRecords(buffer, schemaVersion, 2, 4);
+        this.entryCount = buffer.getInt(entries - 4);
+        this.versions = BinaryFormat.checkRecords(buffer, entries, entryCount, ENTRY_SIZE) + 4;
+        BinaryFormat.checkRecords(buffer, versions - 4, 1, 4);
+        this.versionCount = buffer.getInt(versions - 4);
+        BinaryFormat.checkRecords(buffer, versions, versionCount, 4);
+        // the fields required by the schema
+        for (int i = 0; i < entryCount; i++) {
+            final int entry = entries + i * ENTRY_SIZE;
+            if (buffer.getInt(entry) == NONE || buffer.getInt(entry + 4) == NONE) {
+                throw BinaryFormat.invalid("Invalid blocklist entry " + i);
+            }
+        }
+        Blocklist.checkBinary(getSchemaVersion());
+    }
+
+    public String getSchemaVersion() {
+        return strings.get(buffer.getInt(schemaVersion));
+    }
+
+    /**
+     * Same as {@link Blocklist#getVersionsFor(String, String)}, without decoding the other entries.
+     */
+    public Set<String> getVersionsFor(String groupId, String artifactId) {
+        Objects.requireNonNull(groupId);
+        Objects.requireNonNull(artifactId);
+
+        final int group = strings.indexOf(groupId);
+        if (group == NONE) {
+            return Collections.emptySet();
+        }
+        final int artifact = strings.indexOf(artifactId);
+        int entry = artifact == NONE ? NONE : BinaryFormat.findRecord(buffer, entries, entryCount, ENTRY_SIZE, group, artifact);
+        if (entry == NONE) {
+            final int wildcard = strings.indexOf("*");
+            entry = wildcard == NONE ? NONE : BinaryFormat.findRecord(buffer, entries, entryCount, ENTRY_SIZE, group, wildcard);
+        }
+        if (entry == NONE) {
+            return Collections.emptySet();
+        }
+        return readVersions(entry);
+    }
+
+    /**
+     * Decode the whole blocklist.
+     */
+    public Blocklist toBlocklist() {
+        if (entryCount == 0) {
+            return new Blocklist(getSchemaVersion(), null);
+        }
+        final Set<BlocklistEntry> blocks = new LinkedHashSet<>();
+        for (int i = 0; i < entryCount; i++) {
+            final int entry = entries + i * ENTRY_SIZE;
+            blocks.add(new BlocklistEntry(strings.get(buffer.getInt(entry)), strings.get(buffer.getInt(entry + 4)), readVersions(entry)));
+        }
+        return new Blocklist(getSchemaVersion(), blocks);
+    }
+
+    private Set<String> readVersions(int entry) {
+        final int first = buffer.getInt(entry + 8);
+        final int count = buffer.getInt(entry + 12);
+        if (first < 0 || count < 0 || (long) first + count > versionCount) {
+            throw BinaryFormat.invalid("Invalid versions of blocklist entry");
+        }
+        final Set<String> entryVersions = new HashSet<>();
+        for (int i = first; i < first + count; i++) {
+            entryVersions.add(strings.get(buffer.getInt(versions + 4 * i)));
+        }
+        return entryVersions;
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Layout shared by the binary manifests and blocklists. All the values are big-endian:
+ * <pre>
+ * int     magic number, "WFCB"
+ * short   format version
+ * byte    content: 1 for a manifest, 2 for a blocklist
+ * byte    reserved
+ * int     number of strings N
+ * int[N+1] offsets of the strings in the string data, the last one being the size of the data
+ * byte[]  string data, the UTF-8 encoded strings sorted in the order of their bytes, padded to a multiple of 4 bytes
+ * ...     records of the content, see {@link BinaryManifest} and {@link BinaryBlocklist}
+ * </pre>
+ * The records refer to the strings by their index in the string table, {@code -1} standing for {@code null}.
+ * As the strings are sorted, records sorted by string indexes are sorted by their strings too, and a string is found
+ * by a binary search comparing its bytes with the string data directly.
+ */
+final class BinaryFormat {
+
+    static final int MAGIC = 0x57464342;
+    // 2: streams with a versionRange
+    static final short VERSION = 2;
+    static final byte MANIFEST = 1;
+    static final byte BLOCKLIST = 2;
+    static final int NONE = -1;
+
+    private static final int HEADER_SIZE = 8;
+
+    private BinaryFormat() {
+    }
+
+    /**
+     * Check the header of the {@code buffer} and read its string table.
+     *
+     * @throws InvalidChannelMetadataException - if the buffer does not hold the expected content
+     */
+    static StringTable readHeader(ByteBuffer buffer, byte content) {
+        if (buffer.limit() < HEADER_SIZE + 8 || buffer.getInt(0) != MAGIC) {
+            throw invalid("Not a binary channel metadata");
+        }
+        if (buffer.getShort(4) != VERSION) {
+            throw invalid("Unsupported binary format version " + buffer.getShort(4));
+        }
+        if (buffer.get(6) != content) {
+            throw invalid("Unexpected binary content " + buffer.get(6));
+        }
+        final int count = buffer.getInt(HEADER_SIZE);
+        final int offsets = HEADER_SIZE + 4;
+        final long data = offsets + 4L * count + 4;
+        if (count < 0 || data > buffer.limit()) {
+            throw invalid("Truncated string table");
+        }
+        final int dataSize = buffer.getInt(offsets + 4 * count);
+        final long end = data + align(dataSize);
+        if (dataSize < 0 || end > buffer.limit()) {
+            throw invalid("Truncated string table");
+        }
+        // the strings are then read without checking their bounds again
+        int previous = 0;
+        for (int i = 0; i <= count; i++) {
+            final int offset = buffer.getInt(offsets + 4 * i);
+            if (offset < previous || offset > dataSize) {
+                throw invalid("Invalid string offset " + offset + " at index " + i);
+            }
+            previous = offset;
+        }
+        return new StringTable(buffer, count, offsets, (int) data, (int) end);
+    }
+
+    /**
+     * Check that the {@code buffer} holds {@code count} records of {@code recordSize} bytes from {@code offset}.
+     *
+     * @return the offset following the records
+     */
+    static int checkRecords(ByteBuffer buffer, int offset, int count, int recordSize) {
+        final long end = offset + (long) count * recordSize;
+        if (count < 0 || end > buffer.limit()) {
+            throw invalid("Truncated records");
+        }
+        return (int) end;
+    }
+
+    /**
+     * Find the first of the {@code count} records starting at {@code offset}, sorted by the indexes of their groupId and
+     * artifactId, held in their first two ints.
+     *
+     * @return the offset of the record, or {@code -1} if there is no such record
+     */
+    static int findRecord(ByteBuffer buffer, int offset, int count, int recordSize, int groupId, int artifactId) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            final int record = offset + mid * recordSize;
+            int cmp = Integer.compare(buffer.getInt(record), groupId);
+            if (cmp == 0) {
+                cmp = Integer.compare(buffer.getInt(record + 4), artifactId);
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (low < count) {
+            final int record = offset + low * recordSize;
+            if (buffer.getInt(record) == groupId && buffer.getInt(record + 4) == artifactId) {
+                return record;
+            }
+        }
+        return NONE;
+    }
+
+    static InvalidChannelMetadataException invalid(String message) {
+        return new InvalidChannelMetadataException("Invalid binary channel metadata", List.of(message));
+    }
+
+    private static int align(int size) {
+        return (size + 3) & ~3;
+    }
+
+    private static int compareBytes(byte[] b1, byte[] b2) {
+        final int length = Math.min(b1.length, b2.length);
+        for (int i = 0; i < length; i++) {
+            final int cmp = Integer.compare(b1[i] & 0xff, b2[i] & 0xff);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(b1.length, b2.length);
+    }
+
+    /**
+     * Strings of a binary content, read from the buffer when they are requested.
+     */
+    static final class StringTable {
+        private final ByteBuffer buffer;
+        private final int count;
+        private final int offsets;
+        private final int data;
+        private final int end;
+
+        private StringTable(ByteBuffer buffer, int count, int offsets, int data, int end) {
+            this.buffer = buffer;
+            this.count = count;
+            this.offsets = offsets;
+            this.data = data;
+            this.end = end;
+        }
+
+        /**
+         * @return the offset following the string table
+         */
+        int end() {
+            return end;
+        }
+
+        /**
+         * @return the string at {@code index}, or {@code null} if the index is {@code -1}
+         */
+        String get(int index) {
+            if (index == NONE) {
+                return null;
+            }
+            if (index < 0 || index >= count) {
+                throw invalid("Invalid string index " + index);
+            }
+            final int start = buffer.getInt(offsets + 4 * index);
+            final int length = buffer.getInt(offsets + 4 * (index + 1)) - start;
+            final byte[] bytes = new byte[length];
+            buffer.duplicate().position(data + start).get(bytes);
+            return new String(bytes, UTF_8);
+        }
+
+        /**
+         * @return all the strings, in the order of their indexes
+         */
+        String[] getAll() {
+            final String[] strings = new String[count];
+            for (int i = 0; i < count; i++) {
+                strings[i] = get(i);
+            }
+            return strings;
+        }
+
+        /**
+         * @return the index of {@code value}, or {@code -1} if the table does not contain it
+         */
+        int indexOf(String value) {
+            final byte[] key = value.getBytes(UTF_8);
+            int low = 0;
+            int high = count - 1;
+            while (low <= high) {
+                final int mid = (low + high) >>> 1;
+                final int cmp = compareTo(mid, key);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return NONE;
+        }
+
+        private int compareTo(int index, byte[] key) {
+            final int start = data + buffer.getInt(offsets + 4 * index);
+            final int length = data + buffer.getInt(offsets + 4 * (index + 1)) - start;
+            final int common = Math.min(length, key.length);
+            for (int i = 0; i < common; i++) {
+                final int cmp = Integer.compare(buffer.get(start + i) & 0xff, key[i] & 0xff);
+                if (cmp != 0) {
+                    return cmp;
+                }
+            }
+            return Integer.compare(length, key.length);
+        }
+    }
+
+    /**
+     * Writes a binary content. The strings used by the records must all be {@link #addString(String) added} before the
+     * header is written, to build the string table.
+     */
+    static final class Writer {
+        private final Map<String, byte[]> encoded = new HashMap<>();
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+
+        void addString(String value) {
+            if (value != null) {
+                encoded.computeIfAbsent(value, v -> v.getBytes(UTF_8));
+            }
+        }
+
+        /**
+         * @return the index of the {@code value} in the string table, or {@code -1} if it is {@code null}
+         */
+        int indexOf(String value) {
+            return value == null ? NONE : indexes.get(value);
+        }
+
+        void writeHeader(byte content) {
+            final List<Map.Entry<String, byte[]>> strings = new ArrayList<>(encoded.entrySet());
+            strings.sort(Map.Entry.comparingByValue(BinaryFormat::compareBytes));
+
+            writeInt(MAGIC);
+            writeShort(VERSION);
+            writeByte(content);
+            writeByte(0);
+            writeInt(strings.size());
+            int offset = 0;
+            for (int i = 0; i < strings.size(); i++) {
+                indexes.put(strings.get(i).getKey(), i);
+                writeInt(offset);
+                offset += strings.get(i).getValue().length;
+            }
+            writeInt(offset);
+            for (Map.Entry<String, byte[]> string : strings) {
+                bytes.write(string.getValue(), 0, string.getValue().length);
+            }
+            for (int i = offset; i < align(offset); i++) {
+                writeByte(0);
+            }
+        }
+
+        void writeInt(int value) {
+            try {
+                out.writeInt(value);
+            } catch (IOException e) {
+                // not thrown by ByteArrayOutputStream
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeShort(int value) {
+            try {
+                out.writeShort(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeByte(int value) {
+            try {
+                out.writeByte(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+
+        /**
+         * Order of records by the indexes of their groupId and artifactId, which is the order of the strings.
+         */
+        <T> Comparator<T> byGroupAndArtifact(Function<T, String> groupId, Function<T, String> artifactId) {
+            return Comparator.<T>comparingInt(r -> indexOf(groupId.apply(r))).thenComparingInt(r -> indexOf(artifactId.apply(r)));
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel;
+
+import static org.wildfly.channel.BinaryFormat.NONE;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.wildfly.channel.version.VersionPatternMatcher;
+
+/**
+ * Channel manifest read from its binary encoding, written by {@link BinaryManifestMapper#toBinary(ChannelManifest)}.
+ * <p>
+ * Opening the manifest checks the layout of the buffer and the fields of its records, only the schema version is
+ * decoded. The streams are looked up directly in the buffer, and only the strings of the found stream are decoded.
+ * The manifest is safe to use from several threads.
+ * <p>
+ * Following the string table of the {@link BinaryFormat binary format}, a manifest holds:
+ * <pre>
+ * int[5]   schemaVersion, name, id, logical-version and description
+ * int      number of manifest requirements R
+ * int[R*4] id, groupId, artifactId and version of each requirement, groupId being -1 if it has no Maven coordinate
+ * int      number of streams S
+ * int[S*5] groupId, artifactId, version, versionPattern and versionRange of each stream, sorted by groupId and artifactId,
+ *          the streams of a same groupId and artifactId being in the order of {@link ChannelManifest#getStreams()}
+ * </pre>
+ */
+public class BinaryManifest {
+
+    static final int REQUIREMENT_SIZE = 16;
+    static final int STREAM_SIZE = 20;
+
+    private final ByteBuffer buffer;
+    private final BinaryFormat.StringTable strings;
+    private final int properties;
+    private final int requirements;
+    private final int requirementCount;
+    private final int streams;
+    private final int streamCount;
+
+    BinaryManifest(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.strings = BinaryFormat.readHeader(buffer, BinaryFormat.MANIFEST);
+        this.properties = strings.end();
+        this.requirements = BinaryFormat.checkRecords(buffer, properties, 6, 4);
+        this.requirementCount = buffer.getInt(requirements - 4);
+        this.streams = BinaryFormat.checkRecords(buffer, requirements, requirementCount, REQUIREMENT_SIZE) + 4;
+        BinaryFormat.checkRecords(buffer, streams - 4, 1, 4);
+        this.streamCount = buffer.getInt(streams - 4);
+        BinaryFormat.checkRecords(buffer, streams, streamCount, STREAM_SIZE);
+        checkRecords();
+    }
+
+    // the fields required by the schema, so that the records are decoded to valid requirements and streams
+    private void checkRecords() {
+        for (int i = 0; i < requirementCount; i++) {
+            final int record = requirements + i * REQUIREMENT_SIZE;
+            if (buffer.getInt(record) == NONE || buffer.getInt(record + 4) != NONE && buffer.getInt(record + 8) == NONE) {
+                throw BinaryFormat.invalid("Invalid manifest requirement " + i);
+            }
+        }
+        boolean versionRanges = false;
+        for (int i = 0; i < streamCount; i++) {
+            final int record = streams + i * STREAM_SIZE;
+            final int defined = (buffer.getInt(record + 8) != NONE ? 1 : 0) + (buffer.getInt(record + 12) != NONE ? 1 : 0)
+                    + (buffer.getInt(record + 16) != NONE ? 1 : 0);
+            if (buffer.getInt(record) == NONE || buffer.getInt(record + 4) == NONE || defined != 1) {
+                throw BinaryFormat.invalid("Invalid stream " + i);
+            }
+            versionRanges |= buffer.getInt(record + 16) != NONE;
+        }
+        ChannelManifestMapper.checkBinary(getSchemaVersion(), versionRanges);
+    }
+
+    public String getSchemaVersion() {
+        return property(0);
+    }
+
+    public String getName() {
+        return property(1);
+    }
+
+    public String getId() {
+        return property(2);
+    }
+
+    public String getLogicalVersion() {
+        return property(3);
+    }
+
+    public String getDescription() {
+        return property(4);
+    }
+
+    public List<ManifestRequirement> getManifestRequirements() {
+        final List<ManifestRequirement> manifestRequirements = new ArrayList<>(requirementCount);
+        for (int i = 0; i < requirementCount; i++) {
+            final int record = requirements + i * REQUIREMENT_SIZE;
+            final MavenCoordinate maven = buffer.getInt(record + 4) == NONE ? null :
+                    new MavenCoordinate(string(record + 4), string(record + 8), string(record + 12));
+            manifestRequirements.add(new ManifestRequirement(string(record), maven));
+        }
+        return manifestRequirements;
+    }
+
+    public int getStreamCount() {
+        return streamCount;
+    }
+
+    /**
+     * Same as {@link ChannelManifest#findStreamFor(String, String)}, without decoding the other streams.
+     */
+    public Optional<Stream> findStreamFor(String groupId, String artifactId) {
+        final int group = strings.indexOf(groupId);
+        if (group == NONE) {
+            return Optional.empty();
+        }
+        // first exact match:
+        final int artifact = strings.indexOf(artifactId);
+        int record = artifact == NONE ? NONE : BinaryFormat.findRecord(buffer, streams, streamCount, STREAM_SIZE, group, artifact);
+        if (record == NONE) {
+            // check if there is a stream for groupId:*
+            final int wildcard = strings.indexOf("*");
+            record = wildcard == NONE ? NONE : BinaryFormat.findRecord(buffer, streams, streamCount, STREAM_SIZE, group, wildcard);
+        }
+        if (record == NONE) {
+            return Optional.empty();
+        }
+        final String versionPattern = string(record + 12);
+        // the streams share the compiled patterns of their matchers
+        return Optional.of(new Stream(string(record), string(record + 4), string(record + 8),
+                versionPattern == null ? null : VersionPatternMatcher.of(versionPattern).getPattern(), string(record + 16)));
+    }
+
+    /**
+     * Decode the whole manifest.
+     */
+    public ChannelManifest toChannelManifest() {
+        final String[] all = strings.getAll();
+        // the streams of a manifest use a few different patterns, compile each of them once
+        final Pattern[] patterns = new Pattern[all.length];
+        final List<Stream> manifestStreams = new ArrayList<>(streamCount);
+        for (int i = 0; i < streamCount; i++) {
+            final int record = streams + i * STREAM_SIZE;
+            final String versionPattern = string(all, record + 12);
+            Pattern pattern = null;
+            if (versionPattern != null) {
+                final int index = buffer.getInt(record + 12);
+                if (patterns[index] == null) {
+                    patterns[index] = Pattern.compile(versionPattern);
+                }
+                pattern = patterns[index];
+            }
+            manifestStreams.add(new Stream(string(all, record), string(all, record + 4), string(all, record + 8), pattern,
+                    string(all, record + 16)));
+        }
+        return new ChannelManifest(getSchemaVersion(), getName(), getId(), getLogicalVersion(), getDescription(),
+                getManifestRequirements(), manifestStreams);
+    }
+
+    private String property(int index) {
+        return string(properties + 4 * index);
+    }
+
+    private String string(int position) {
+        return strings.get(buffer.getInt(position));
+    }
+
+    private String string(String[] all, int position) {
+        final int index = buffer.getInt(position);
+        if (index == NONE) {
+            return null;
+        }
+        if (index < 0 || index >= all.length) {
+            throw BinaryFormat.invalid("Invalid string index " + index);
+        }
+        return all[index];
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mapper class to transform manifests and blocklists to a compact binary encoding (and vice versa).
+ * <p>
+ * Unlike the YAML content, the binary content is not validated against a JSON schema: it is expected to be written by
+ * this class from a valid manifest or blocklist. Reading it checks its layout, its schema version and the fields
+ * required by that schema version, the manifests and blocklists being looked up directly in the buffer holding the
+ * content. A binary file can be {@link #mapManifest(Path) mapped} in memory, so that its pages are loaded only when
+ * they are used. {@link ChannelManifestMapper#from(java.net.URL)} and {@link Blocklist#from(java.net.URL)} also read
+ * binary content, but copy it in memory and decode it entirely.
+ *
+ * @see BinaryFormat
+ */
+public class BinaryManifestMapper {
+
+    private BinaryManifestMapper() {
+    }
+
+    public static byte[] toBinary(ChannelManifest manifest) {
+        requireNonNull(manifest);
+
+        final BinaryFormat.Writer writer = new BinaryFormat.Writer();
+        writer.addString(manifest.getSchemaVersion());
+        writer.addString(manifest.getName());
+        writer.addString(manifest.getId());
+        writer.addString(manifest.getLogicalVersion());
+        writer.addString(manifest.getDescription());
+        for (ManifestRequirement requirement : manifest.getManifestRequirements()) {
+            writer.addString(requirement.getId());
+            if (requirement.getMavenCoordinate() != null) {
+                writer.addString(requirement.getGroupId());
+                writer.addString(requirement.getArtifactId());
+                writer.addString(requirement.getVersion());
+            }
+        }
+        for (Stream stream : manifest.getStreams()) {
+            writer.addString(stream.getGroupId());
+            writer.addString(stream.getArtifactId());
+            writer.addString(stream.getVersion());
+            writer.addString(stream.getVersionPattern() == null ? null : stream.getVersionPattern().pattern());
+            writer.addString(stream.getVersionRange());
+        }
+
+        writer.writeHeader(BinaryFormat.MANIFEST);
+        writer.writeInt(writer.indexOf(manifest.getSchemaVersion()));
+        writer.writeInt(writer.indexOf(manifest.getName()));
+        writer.writeInt(writer.indexOf(manifest.getId()));
+        writer.writeInt(writer.indexOf(manifest.getLogicalVersion()));
+        writer.writeInt(writer.indexOf(manifest.getDescription()));
+        writer.writeInt(manifest.getManifestRequirements().size());
+        for (ManifestRequirement requirement : manifest.getManifestRequirements()) {
+            final boolean maven = requirement.getMavenCoordinate() != null;
+            writer.writeInt(writer.indexOf(requirement.getId()));
+            writer.writeInt(maven ? writer.indexOf(requirement.getGroupId()) : BinaryFormat.NONE);
+            writer.writeInt(maven ? writer.indexOf(requirement.getArtifactId()) : BinaryFormat.NONE);
+            writer.writeInt(maven ? writer.indexOf(requirement.getVersion()) : BinaryFormat.NONE);
+        }
+        // stable sort, the first stream of a groupId and artifactId is the one found by ChannelManifest#findStreamFor
+        final List<Stream> streams = new ArrayList<>(manifest.getStreams());
+        streams.sort(writer.byGroupAndArtifact(Stream::getGroupId, Stream::getArtifactId));
+        writer.writeInt(streams.size());
+        for (Stream stream : streams) {
+            writer.writeInt(writer.indexOf(stream.getGroupId()));
+            writer.writeInt(writer.indexOf(stream.getArtifactId()));
+            writer.writeInt(writer.indexOf(stream.getVersion()));
+            writer.writeInt(writer.indexOf(stream.getVersionPattern() == null ? null : stream.getVersionPattern().pattern()));
+            writer.writeInt(writer.indexOf(stream.getVersionRange()));
+        }
+        return writer.toByteArray();
+    }
+
+    public static byte[] toBinary(Blocklist blocklist) {
+        requireNonNull(blocklist);
+
+        final List<BlocklistEntry> entries = blocklist.getEntries() == null ? new ArrayList<>() : new ArrayList<>(blocklist.getEntries());
+        final BinaryFormat.Writer writer = new BinaryFormat.Writer();
+        writer.addString(blocklist.getSchemaVersion());
+        for (BlocklistEntry entry : entries) {
+            writer.addString(entry.getGroupId());
+            writer.addString(entry.getArtifactId());
+            if (entry.getVersions() != null) {
+                entry.getVersions().forEach(writer::addString);
+            }
+        }
+
+        writer.writeHeader(BinaryFormat.BLOCKLIST);
+        writer.writeInt(writer.indexOf(blocklist.getSchemaVersion()));
+        // stable sort, the first entry of a groupId and artifactId is the one found by Blocklist#getVersionsFor
+        entries.sort(writer.byGroupAndArtifact(BlocklistEntry::getGroupId, BlocklistEntry::getArtifactId));
+        writer.writeInt(entries.size());
+        int versionCount = 0;
+        for (BlocklistEntry entry : entries) {
+            final int count = entry.getVersions() == null ? 0 : entry.getVersions().size();
+            writer.writeInt(writer.indexOf(entry.getGroupId()));
+            writer.writeInt(writer.indexOf(entry.getArtifactId()));
+            writer.writeInt(versionCount);
+            writer.writeInt(count);
+            versionCount += count;
+        }
+        writer.writeInt(versionCount);
+        for (BlocklistEntry entry : entries) {
+            if (entry.getVersions() != null) {
+                for (String version : entry.getVersions()) {
+                    writer.writeInt(writer.indexOf(version));
+                }
+            }
+        }
+        return writer.toByteArray();
+    }
+
+    public static void write(ChannelManifest manifest, Path file) throws IOException {
+        Files.write(file, toBinary(manifest));
+    }
+
+    public static void write(Blocklist blocklist, Path file) throws IOException {
+        Files.write(file, toBinary(blocklist));
+    }
+
+    /**
+     * @param buffer - binary content of a manifest. The buffer must not be modified while the manifest is used
+     * @throws InvalidChannelMetadataException - if the buffer does not hold a binary manifest
+     */
+    public static BinaryManifest manifestFrom(ByteBuffer buffer) throws InvalidChannelMetadataException {
+        requireNonNull(buffer);
+        return new BinaryManifest(buffer.slice());
+    }
+
+    /**
+     * @param buffer - binary content of a blocklist. The buffer must not be modified while the blocklist is used
+     * @throws InvalidChannelMetadataException - if the buffer does not hold a binary blocklist
+     */
+    public static BinaryBlocklist blocklistFrom(ByteBuffer buffer) throws InvalidChannelMetadataException {
+        requireNonNull(buffer);
+        return new BinaryBlocklist(buffer.slice());
+    }
+
+    /**
+     * Map a binary manifest file in memory. The file must not be modified while the manifest is used.
+     *
+     * @throws InvalidChannelMetadataException - if the file does not hold a binary manifest
+     */
+    public static BinaryManifest mapManifest(Path file) throws IOException, InvalidChannelMetadataException {
+        return manifestFrom(map(file));
+    }
+
+    /**
+     * Map a binary blocklist file in memory. The file must not be modified while the blocklist is used.
+     *
+     * @throws InvalidChannelMetadataException - if the file does not hold a binary blocklist
+     */
+    public static BinaryBlocklist mapBlocklist(Path file) throws IOException, InvalidChannelMetadataException {
+        return blocklistFrom(map(file));
+    }
+
+    /**
+     * Check if the {@code in} holds binary content, without consuming it.
+     *
+     * @param in - stream supporting {@link InputStream#mark(int)}
+     */
+    static boolean isBinary(InputStream in) throws IOException {
+        in.mark(4);
+        try {
+            final byte[] magic = in.readNBytes(4);
+            return magic.length == 4 && ByteBuffer.wrap(magic).getInt() == BinaryFormat.MAGIC;
+        } finally {
+            in.reset();
+        }
+    }
+
+    /**
+     * Check if the {@code content} is binary content.
+     */
+    static boolean isBinary(byte[] content) {
+        return content.length >= 4 && ByteBuffer.wrap(content).getInt() == BinaryFormat.MAGIC;
+    }
+
+    private static ByteBuffer map(Path file) throws IOException {
+        requireNonNull(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // the mapping stays valid once the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+}
@@ -18,8 +18,10 @@
 package org.wildfly.channel;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -72,6 +74,10 @@ public class Blocklist extends VersionedMapper {
       this.entries = entries;
    }
 
+   /**
+    * Read a blocklist from a YAML or binary content. A binary blocklist is read in memory and fully decoded, use
+    * {@link BinaryManifestMapper#mapBlocklist(java.nio.file.Path)} to look up its versions without decoding it.
+    */
    public static Blocklist from(URL blocklistUrl) {
       requireNonNull(blocklistUrl);
 
@@ -81,23 +87,51 @@ public class Blocklist extends VersionedMapper {
             blocklistUrl = blocklistUrl.toURI().resolve("blocklist.yaml").toURL();
          }
 
-         List<String> messages = validate(blocklistUrl);
+         // the content is read once and then validated and bound from memory
+         final byte[] content;
+         try (InputStream in = blocklistUrl.openStream()) {
+            content = in.readAllBytes();
+         }
+         if (BinaryManifestMapper.isBinary(content)) {
+            return BinaryManifestMapper.blocklistFrom(ByteBuffer.wrap(content)).toBlocklist();
+         }
+
+         List<String> messages = validate(content);
          if (!messages.isEmpty()) {
             throw new InvalidChannelMetadataException("Invalid blocklist", messages);
          }
-         Blocklist blocklist = OBJECT_MAPPER.readValue(blocklistUrl, Blocklist.class);
+         Blocklist blocklist = OBJECT_MAPPER.readValue(content, Blocklist.class);
          return blocklist;
       } catch (IOException | URISyntaxException e) {
          throw wrapException(e);
       }
    }
 
+   /**
+    * Check that a binary blocklist has a supported schema version, like the YAML blocklists.
+    *
+    * @throws InvalidChannelMetadataException - if the schema version is not supported
+    */
+   static void checkBinary(String schemaVersion) throws InvalidChannelMetadataException {
+      if (schemaVersion == null || getSchema(schemaVersion, SCHEMAS) == null) {
+         throw new InvalidChannelMetadataException("Invalid blocklist", List.of("Unknown schema version " + schemaVersion));
+      }
+   }
+
    private static InvalidChannelMetadataException wrapException(Exception e) {
       InvalidChannelMetadataException ice = new InvalidChannelMetadataException("Invalid Channel", singletonList(e.getLocalizedMessage()));
       ice.initCause(e);
       return ice;
    }
 
+   String getSchemaVersion() {
+      return schemaVersion;
+   }
+
+   Set<BlocklistEntry> getEntries() {
+      return entries;
+   }
+
    public Set<String> getVersionsFor(String groupId, String artifactId) {
       Objects.requireNonNull(groupId);
       Objects.requireNonNull(artifactId);
@@ -118,8 +152,8 @@ public class Blocklist extends VersionedMapper {
       return Collections.emptySet();
    }
 
-   private static List<String> validate(URL url) throws IOException {
-      JsonNode node = OBJECT_MAPPER.readTree(url);
+   private static List<String> validate(byte[] content) throws IOException {
+      JsonNode node = OBJECT_MAPPER.readTree(content);
       JsonSchema schema = getSchema(node);
       schema.initializeValidators();
       Set<ValidationMessage> validationMessages = schema.validate(node);
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Allows a caller to stop a bulk resolution of a {@link ChannelSession} from another thread.
+ * <p>
+ * Once {@link #cancel() cancelled}, a token stays cancelled. A token can be passed to several resolutions,
+ * which are all stopped when it is cancelled.
+ *
+ * @see ChannelSession#resolveMavenArtifacts(java.util.List, java.time.Duration, CancellationToken)
+ */
+public class CancellationToken {
+
+    private final List<Runnable> listeners = new ArrayList<>();
+    private boolean cancelled;
+
+    /**
+     * Stops the resolutions using this token. The threads still resolving artifacts for them are interrupted.
+     * Has no effect if the token is already cancelled.
+     */
+    public void cancel() {
+        final List<Runnable> toRun;
+        synchronized (listeners) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            toRun = new ArrayList<>(listeners);
+            listeners.clear();
+        }
+        toRun.forEach(Runnable::run);
+    }
+
+    /**
+     * @return {@code true} if {@link #cancel()} was called
+     */
+    public boolean isCancelled() {
+        synchronized (listeners) {
+            return cancelled;
+        }
+    }
+
+    /**
+     * Run the {@code listener} when the token is cancelled, or immediately if it is already cancelled.
+     *
+     * @return an action removing the {@code listener}, to be run once it is no longer needed
+     */
+    Runnable register(Runnable listener) {
+        synchronized (listeners) {
+            if (!cancelled) {
+                listeners.add(listener);
+                return () -> {
+                    synchronized (listeners) {
+                        listeners.remove(listener);
+                    }
+                };
+            }
+        }
+        listener.run();
+        return () -> {};
+    }
+}
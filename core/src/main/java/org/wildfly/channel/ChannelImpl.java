@@ -18,7 +18,6 @@ package org.wildfly.channel;
 
 import static java.util.Collections.singleton;
 import static java.util.Objects.requireNonNull;
-import static org.wildfly.channel.version.VersionMatcher.COMPARATOR;
 
 import java.io.File;
 import java.net.URL;
@@ -32,8 +31,11 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.jboss.logging.Logger;
+import org.wildfly.channel.spi.ArtifactResolutionResult;
 import org.wildfly.channel.spi.MavenVersionsResolver;
+import org.wildfly.channel.version.VersionIndex;
 import org.wildfly.channel.version.VersionMatcher;
 
 /**
@@ -58,6 +60,12 @@ class ChannelImpl implements AutoCloseable {
     public Optional<Blocklist> blocklist = Optional.empty();
     private ChannelManifestCoordinate resolvedCoordinate;
 
+    // groupId:artifactId of the streams of this channel and of its required channels, wildcard streams excluded
+    private Set<Pair<String, String>> streamedArtifacts = Collections.emptySet();
+    // latest versions of the streamedArtifacts that are found without querying the repositories.
+    // An empty result means this channel does not provide the artifact.
+    private Map<Pair<String, String>, Optional<ResolveLatestVersionResult>> versionIndex = Collections.emptyMap();
+
     public ChannelManifest getManifest() {
         return channelManifest;
     }
@@ -68,19 +76,28 @@ class ChannelImpl implements AutoCloseable {
 
 
     /**
+     * Create the resolver of this channel. Must be called before the channel is {@link #load() loaded}.
      *
      * @param factory
-     * @param channels
-     * @throws UnresolvedRequiredManifestException - if a required manifest cannot be resolved either via maven coordinates or in the list of channels
-     * @throws CyclicDependencyException - if the required manifests form a cyclic dependency
      */
-    void init(MavenVersionsResolver.Factory factory, List<ChannelImpl> channels) {
-        if (resolver != null) {
-            //already initialized
-            return;
+    void createResolver(MavenVersionsResolver.Factory factory) {
+        if (resolver == null) {
+            resolver = factory.create(channelDefinition);
         }
+    }
 
-        resolver = factory.create(channelDefinition);
+    /**
+     * Resolve the manifest and the blocklist of this channel. The channels required by the manifest are not resolved,
+     * they have to be added with {@link #addRequiredChannel(ChannelImpl)}.
+     *
+     * @throws UnresolvedMavenArtifactException - if the manifest cannot be resolved
+     */
+    void load() {
+        if (resolvedChannel != null) {
+            //already loaded
+            return;
+        }
+        requireNonNull(resolver);
 
         final Channel.Builder resolvedChannelBuilder = new Channel.Builder(channelDefinition);
         if (channelDefinition.getManifestCoordinate() != null) {
@@ -91,15 +108,6 @@ class ChannelImpl implements AutoCloseable {
             channelManifest = new ChannelManifest(null, null, null, Collections.emptyList());
         }
 
-        final List<ManifestRequirement> manifestRequirements = channelManifest.getManifestRequirements();
-        if (!manifestRequirements.isEmpty()) {
-            requiredChannels = new ArrayList<>();
-        }
-        for (ManifestRequirement manifestRequirement : manifestRequirements) {
-            ChannelImpl foundChannel = findRequiredChannel(factory, channels, manifestRequirement);
-            requiredChannels.add(foundChannel);
-        }
-
         if (channelDefinition.getBlocklistCoordinate() != null) {
             BlocklistCoordinate blocklistCoordinate = resolveBlocklistVersion(channelDefinition);
             if (blocklistCoordinate != null) {
@@ -114,32 +122,30 @@ class ChannelImpl implements AutoCloseable {
         this.resolvedChannel = resolvedChannelBuilder.build();
     }
 
-    private ChannelImpl findRequiredChannel(MavenVersionsResolver.Factory factory, List<ChannelImpl> channels, ManifestRequirement manifestRequirement) {
-        ChannelImpl foundChannel = null;
-        for (ChannelImpl c: channels) {
-            if (c.getManifest() == null) {
-                c.init(factory, channels);
-            }
-            if (manifestRequirement.getId().equals(c.getManifest().getId())) {
-                foundChannel = c;
-                break;
-            }
-        }
-
-        if (foundChannel == null) {
-            if (manifestRequirement.getMavenCoordinate() == null) {
-                throw new UnresolvedRequiredManifestException("Manifest with ID " + manifestRequirement.getId() + " is not available", manifestRequirement.getId());
-            }
-            foundChannel = createNewChannelFromMaven(factory, channels, manifestRequirement);
+    /**
+     * Add a channel providing one of the manifests required by this channel. The required channels must be added
+     * in the order of the manifest requirements. The channels are not checked for cycles, this is done once all the
+     * required channels are added.
+     *
+     * @param requiredChannel - loaded channel
+     */
+    void addRequiredChannel(ChannelImpl requiredChannel) {
+        requiredChannel.markAsDependency();
+        if (requiredChannels.isEmpty()) {
+            requiredChannels = new ArrayList<>();
         }
-
-        checkForCycles(foundChannel);
-
-        foundChannel.markAsDependency();
-        return foundChannel;
+        requiredChannels.add(requiredChannel);
     }
 
-    private ChannelImpl createNewChannelFromMaven(MavenVersionsResolver.Factory factory, List<ChannelImpl> channels, ManifestRequirement manifestRequirement) {
+    /**
+     * Create the definition of a channel for a manifest required by this channel using its Maven coordinates.
+     * The new channel uses the same repositories as this channel. If the requirement has no version, the latest
+     * version of the manifest is used.
+     *
+     * @param manifestRequirement - requirement with Maven coordinates
+     * @return the definition of the required channel
+     */
+    Channel requiredChannelDefinition(ManifestRequirement manifestRequirement) {
         String groupId = manifestRequirement.getGroupId();
         String artifactId = manifestRequirement.getArtifactId();
         String version = manifestRequirement.getVersion();
@@ -149,43 +155,42 @@ class ChannelImpl implements AutoCloseable {
             version = latest.orElseThrow(() -> new RuntimeException(String.format("Can not determine the latest version for Maven artifact %s:%s:%s:%s",
                     groupId, artifactId, ChannelManifest.EXTENSION, ChannelManifest.CLASSIFIER)));
         }
-        final Channel requiredChannelDefinition = new Channel.Builder(channelDefinition)
+        return new Channel.Builder(channelDefinition)
                 .setName(null)
                 .setDescription(null)
                 .setVendor(null)
                 .setManifestCoordinate(groupId, artifactId, version)
                 .setResolveStrategy(Channel.NoStreamStrategy.NONE)
                 .build();
+    }
 
+    /**
+     * Create and load a channel for a required manifest.
+     *
+     * @param factory
+     * @param requiredChannelDefinition - definition created by {@link #requiredChannelDefinition(ManifestRequirement)}
+     * @param manifestRequirement - requirement the channel is created for
+     * @return the loaded channel
+     * @throws UnresolvedRequiredManifestException - if the required manifest cannot be resolved
+     */
+    static ChannelImpl loadRequiredChannel(MavenVersionsResolver.Factory factory, Channel requiredChannelDefinition, ManifestRequirement manifestRequirement) {
         final ChannelImpl requiredChannel = new ChannelImpl(requiredChannelDefinition);
 
         try {
-            requiredChannel.init(factory, channels);
+            requiredChannel.createResolver(factory);
+            requiredChannel.load();
         } catch (UnresolvedMavenArtifactException e) {
             throw new UnresolvedRequiredManifestException("Manifest with ID " + manifestRequirement.getId() + " is not available", manifestRequirement.getId(), e);
         }
         return requiredChannel;
     }
 
-    private void checkForCycles(ChannelImpl foundChannel) {
-        final String manifestId = this.getManifest().getId();
-        if (foundChannel.getManifest().getId() != null && foundChannel.getManifest().getId().equals(manifestId)) {
-            throw new CyclicDependencyException("Illegal manifest dependency: " + manifestId + "->" + foundChannel.getManifest().getId());
-        }
-        if (foundChannel.requiredChannels.stream().map(ChannelImpl::getManifest).map(ChannelManifest::getId).filter((id)->id != null && id.equals(manifestId)).findFirst().isPresent()) {
-            throw new CyclicDependencyException("Illegal manifest dependency: " + manifestId + "->" + foundChannel.getManifest().getId());
-        }
-        for (ChannelImpl requiredChannel : foundChannel.requiredChannels) {
-            checkForCycles(requiredChannel);
-        }
-    }
-
+    /**
+     * Close the resolver of this channel. The required channels can be shared with other channels and are not closed.
+     */
     @Override
     public void close() {
         if (resolver != null) {
-            for (ChannelImpl requiredChannel : requiredChannels) {
-                requiredChannel.close();
-            }
             this.resolver.close();
             this.resolver = null;
         }
@@ -198,6 +203,86 @@ class ChannelImpl implements AutoCloseable {
         return dependency;
     }
 
+    List<ChannelImpl> getRequiredChannels() {
+        return requiredChannels;
+    }
+
+    /**
+     * Index the latest versions of the artifacts streamed by this channel and its required channels that do not
+     * depend on the repositories, flattening the required channels. {@link #resolveLatestVersion} then finds
+     * them without walking the required channels.
+     * <p>
+     * Must be called once all the required channels are added and indexed.
+     */
+    void buildVersionIndex() {
+        final Set<Pair<String, String>> artifacts = new HashSet<>();
+        for (Stream stream : channelManifest.getStreams()) {
+            if (!stream.getArtifactId().equals("*")) {
+                artifacts.add(Pair.of(stream.getGroupId(), stream.getArtifactId()));
+            }
+        }
+        for (ChannelImpl requiredChannel : requiredChannels) {
+            artifacts.addAll(requiredChannel.streamedArtifacts);
+        }
+
+        final Map<Pair<String, String>, Optional<ResolveLatestVersionResult>> index = new HashMap<>();
+        for (Pair<String, String> artifact : artifacts) {
+            final Optional<ResolveLatestVersionResult> found = findLocalVersion(artifact.getLeft(), artifact.getRight());
+            if (found != null) {
+                index.put(artifact, found);
+            }
+        }
+        this.streamedArtifacts = Set.copyOf(artifacts);
+        this.versionIndex = Map.copyOf(index);
+    }
+
+    /**
+     * Same as {@link #resolveLatestVersion}, without querying the repositories.
+     *
+     * @return the latest version, or {@code null} if it depends on the versions available in the repositories
+     */
+    private Optional<ResolveLatestVersionResult> findLocalVersion(String groupId, String artifactId) {
+        final Pair<String, String> artifact = Pair.of(groupId, artifactId);
+        final Optional<ResolveLatestVersionResult> indexed = versionIndex.get(artifact);
+        if (indexed != null) {
+            return indexed;
+        }
+        if (streamedArtifacts.contains(artifact)) {
+            // already indexed, the version depends on the repositories
+            return null;
+        }
+
+        final Set<String> blocklistedVersions = this.blocklist
+                .map(b -> b.getVersionsFor(groupId, artifactId))
+                .orElse(Collections.emptySet());
+
+        Optional<Stream> foundStream = channelManifest.findStreamFor(groupId, artifactId);
+        if (foundStream.isPresent()) {
+            final String version = foundStream.get().getVersion();
+            if (version == null) {
+                return null;
+            }
+            return blocklistedVersions.contains(version) ? Optional.empty() : Optional.of(new ResolveLatestVersionResult(version, this));
+        }
+
+        Map<String, ChannelImpl> foundVersions = new HashMap<>();
+        for (ChannelImpl requiredChannel : requiredChannels) {
+            Optional<ResolveLatestVersionResult> found = requiredChannel.findLocalVersion(groupId, artifactId);
+            if (found == null) {
+                return null;
+            }
+            if (found.isPresent()) {
+                foundVersions.put(found.get().version, found.get().channel);
+            }
+        }
+        Optional<String> foundVersionInRequiredChannels = VersionMatcher.getLatestVersion(foundVersions.keySet(), v -> !blocklistedVersions.contains(v));
+        if (foundVersionInRequiredChannels.isPresent()) {
+            return Optional.of(new ResolveLatestVersionResult(foundVersionInRequiredChannels.get(), foundVersions.get(foundVersionInRequiredChannels.get())));
+        }
+        // the other strategies query the repositories
+        return channelDefinition.getNoStreamStrategy() == Channel.NoStreamStrategy.NONE ? Optional.empty() : null;
+    }
+
     Channel getResolvedChannelDefinition() {
         return resolvedChannel;
     }
@@ -299,11 +384,15 @@ class ChannelImpl implements AutoCloseable {
         requireNonNull(artifactId);
         requireNonNull(resolver);
 
-        Set<String> blocklistedVersions = Collections.emptySet();
-        if (this.blocklist.isPresent()) {
-            blocklistedVersions = this.blocklist.get().getVersionsFor(groupId, artifactId);
+        final Optional<ResolveLatestVersionResult> indexed = versionIndex.get(Pair.of(groupId, artifactId));
+        if (indexed != null) {
+            return indexed;
         }
 
+        final Set<String> blocklistedVersions = this.blocklist
+                .map(b -> b.getVersionsFor(groupId, artifactId))
+                .orElse(Collections.emptySet());
+
         // first we find if there is a stream for that given (groupId, artifactId).
         Optional<Stream> foundStream = channelManifest.findStreamFor(groupId, artifactId);
         // no stream for this artifact, let's look into the required channel
@@ -316,8 +405,7 @@ class ChannelImpl implements AutoCloseable {
                     foundVersions.put(found.get().version, found.get().channel);
                 }
             }
-            foundVersions.keySet().removeAll(blocklistedVersions);
-            Optional<String> foundVersionInRequiredChannels = foundVersions.keySet().stream().sorted(COMPARATOR.reversed()).findFirst();
+            Optional<String> foundVersionInRequiredChannels = VersionMatcher.getLatestVersion(foundVersions.keySet(), v -> !blocklistedVersions.contains(v));
             if (foundVersionInRequiredChannels.isPresent()) {
                 return Optional.of(new ResolveLatestVersionResult(foundVersionInRequiredChannels.get(), foundVersions.get(foundVersionInRequiredChannels.get())));
             }
@@ -325,9 +413,8 @@ class ChannelImpl implements AutoCloseable {
             // finally try the NoStreamStrategy
             switch (channelDefinition.getNoStreamStrategy()) {
                 case LATEST:
-                    Set<String> versions = resolver.getAllVersions(groupId, artifactId, extension, classifier);
-                    versions.removeAll(blocklistedVersions);
-                    final Optional<String> latestVersion = versions.stream().sorted(COMPARATOR.reversed()).findFirst();
+                    Set<String> versions = getAvailableVersions(groupId, artifactId, extension, classifier);
+                    final Optional<String> latestVersion = VersionMatcher.getLatestVersion(versions, v -> !blocklistedVersions.contains(v));
                     if (latestVersion.isPresent()) {
                         return Optional.of(new ResolveLatestVersionResult(latestVersion.get(), this));
                     } else {
@@ -370,11 +457,10 @@ class ChannelImpl implements AutoCloseable {
             if (foundVersion.isPresent() && blocklistedVersions.contains(foundVersion.get())) {
                 return Optional.empty();
             }
-        } else if (stream.getVersionPattern() != null) {
-            // if there is a version pattern, we resolve all versions from Maven to find the latest one
-            Set<String> versions = resolver.getAllVersions(groupId, artifactId, extension, classifier);
-            versions.removeAll(blocklistedVersions);
-            foundVersion = foundStream.get().getVersionComparator().matches(versions);
+        } else {
+            // if there is a version pattern or range, we resolve all versions from Maven to find the latest one
+            Set<String> versions = getAvailableVersions(groupId, artifactId, extension, classifier);
+            foundVersion = foundStream.get().getVersionComparator().matches(versions, v -> !blocklistedVersions.contains(v));
         }
 
         if (foundVersion.isPresent()) {
@@ -383,6 +469,14 @@ class ChannelImpl implements AutoCloseable {
         return Optional.empty();
     }
 
+    /**
+     * @return the versions of the artifact available in the repositories, sorted so that the latest version matching a
+     *         stream is found from the top
+     */
+    private Set<String> getAvailableVersions(String groupId, String artifactId, String extension, String classifier) {
+        return VersionIndex.of(resolver.getAllVersions(groupId, artifactId, extension, classifier));
+    }
+
     static class ResolveArtifactResult {
         File file;
         ChannelImpl channel;
@@ -416,6 +510,14 @@ class ChannelImpl implements AutoCloseable {
         return resolvedArtifacts.stream().map(f->new ResolveArtifactResult(f, this)).collect(Collectors.toList());
     }
 
+    /**
+     * Resolve the artifacts available in this channel's repositories. The artifacts that cannot be resolved are returned
+     * in {@link ArtifactResolutionResult#getUnresolved()} instead of failing the resolution.
+     */
+    ArtifactResolutionResult resolveAvailableArtifacts(List<ArtifactCoordinate> coordinates) {
+        return resolver.resolveAvailableArtifacts(coordinates);
+    }
+
     @Override
     public String toString() {
         return "Channel{" +
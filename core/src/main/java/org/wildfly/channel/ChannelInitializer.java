@@ -0,0 +1,269 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.jboss.logging.Logger;
+import org.wildfly.channel.spi.MavenVersionsResolver;
+
+/**
+ * Initializes the channels of a session, fetching their manifests and blocklists concurrently.
+ * <p>
+ * The channels are initialized in waves. First, all the channels of the session are loaded at the same time. Then their
+ * manifest requirements are linked to the session channels providing them. The required manifests that are not provided
+ * by the session are loaded from Maven at the same time, and form the next wave, until no requirement is left.
+ * <p>
+ * A channel loaded from Maven is shared by all the channels requiring the same manifest version from the same
+ * repositories, so that each required manifest is downloaded and parsed only once per session.
+ * <p>
+ * Once all the channels are linked, the requirement graph is checked for cycles in a single depth-first traversal,
+ * which also sorts the channels in topological order. In that order, each channel then indexes the versions of its
+ * streams and of the streams of its required channels.
+ */
+class ChannelInitializer {
+
+    private static final Logger LOG = Logger.getLogger(ChannelInitializer.class);
+
+    private final MavenVersionsResolver.Factory factory;
+    private final Executor executor;
+    // channels loaded from Maven for the manifest requirements, keyed by their definition
+    private final Map<RequiredChannelKey, ChannelImpl> requiredChannels = new HashMap<>();
+
+    /**
+     * @param factory - factory creating the resolvers of the channels
+     * @param executor - executor used to load the channels
+     */
+    ChannelInitializer(MavenVersionsResolver.Factory factory, Executor executor) {
+        this.factory = factory;
+        this.executor = executor;
+    }
+
+    /**
+     * Load the {@code channels} and all the channels they require.
+     *
+     * @param channels - channels of the session
+     * @return the {@code channels} and all the channels they require, each channel appearing after the channels it requires
+     * @throws UnresolvedRequiredManifestException - if a required manifest cannot be resolved either via maven coordinates or in the list of channels
+     * @throws CyclicDependencyException - if the required manifests form a cyclic dependency
+     */
+    List<ChannelImpl> init(List<ChannelImpl> channels) {
+        final long start = System.currentTimeMillis();
+
+        // create the resolvers in the order of the channels, only fetching the metadata is done concurrently
+        for (ChannelImpl channel : channels) {
+            channel.createResolver(factory);
+        }
+        runAll(channels, channel -> {
+            channel.load();
+            return channel;
+        });
+
+        List<ChannelImpl> wave = channels;
+        while (!wave.isEmpty()) {
+            final List<Pair<ChannelImpl, ManifestRequirement>> fromMaven = new ArrayList<>();
+            for (ChannelImpl channel : wave) {
+                for (ManifestRequirement manifestRequirement : channel.getManifest().getManifestRequirements()) {
+                    if (findChannel(channels, manifestRequirement) == null) {
+                        if (manifestRequirement.getMavenCoordinate() == null) {
+                            throw new UnresolvedRequiredManifestException("Manifest with ID " + manifestRequirement.getId() + " is not available", manifestRequirement.getId());
+                        }
+                        fromMaven.add(Pair.of(channel, manifestRequirement));
+                    }
+                }
+            }
+
+            // resolve the versions of the required manifests, then load each required channel that is not loaded yet once
+            final List<RequiredChannelKey> keys = runAll(fromMaven,
+                    r -> new RequiredChannelKey(r.getLeft().requiredChannelDefinition(r.getRight())));
+            final Map<RequiredChannelKey, ManifestRequirement> toLoad = new LinkedHashMap<>();
+            for (int i = 0; i < fromMaven.size(); i++) {
+                if (!requiredChannels.containsKey(keys.get(i))) {
+                    toLoad.putIfAbsent(keys.get(i), fromMaven.get(i).getRight());
+                }
+            }
+            final List<Map.Entry<RequiredChannelKey, ManifestRequirement>> loading = new ArrayList<>(toLoad.entrySet());
+            final List<ChannelImpl> loaded = runAll(loading,
+                    e -> ChannelImpl.loadRequiredChannel(factory, e.getKey().definition, e.getValue()));
+            for (int i = 0; i < loading.size(); i++) {
+                requiredChannels.put(loading.get(i).getKey(), loaded.get(i));
+            }
+
+            final Map<ManifestRequirement, ChannelImpl> loadedByRequirement = new IdentityHashMap<>();
+            for (int i = 0; i < fromMaven.size(); i++) {
+                loadedByRequirement.put(fromMaven.get(i).getRight(), requiredChannels.get(keys.get(i)));
+            }
+
+            // link the required channels in the order of the requirements
+            for (ChannelImpl channel : wave) {
+                for (ManifestRequirement manifestRequirement : channel.getManifest().getManifestRequirements()) {
+                    ChannelImpl requiredChannel = findChannel(channels, manifestRequirement);
+                    if (requiredChannel == null) {
+                        requiredChannel = loadedByRequirement.get(manifestRequirement);
+                    }
+                    channel.addRequiredChannel(requiredChannel);
+                }
+            }
+
+            wave = loaded;
+        }
+
+        final List<ChannelImpl> sorted = sortRequirements(channels);
+        // the required channels are indexed first
+        for (ChannelImpl channel : sorted) {
+            channel.buildVersionIndex();
+        }
+        LOG.debugf("Initializing channels took %.2f seconds", (System.currentTimeMillis() - start) / 1000f);
+        return sorted;
+    }
+
+    /**
+     * Sort the {@code channels} and the channels they require so that every channel comes after the channels it requires.
+     * <p>
+     * The requirement graph is traversed depth-first once, marking the channels being visited: reaching a channel
+     * that is still being visited means the requirements form a cycle. A channel requiring a manifest with its own ID
+     * is also reported as a cycle.
+     *
+     * @throws CyclicDependencyException - if the required manifests form a cyclic dependency
+     */
+    static List<ChannelImpl> sortRequirements(List<ChannelImpl> channels) {
+        // absent: not visited yet, false: being visited, true: visited with all its required channels
+        final Map<ChannelImpl, Boolean> visited = new IdentityHashMap<>();
+        final List<ChannelImpl> sorted = new ArrayList<>();
+        final Deque<Pair<ChannelImpl, Iterator<ChannelImpl>>> path = new ArrayDeque<>();
+
+        for (ChannelImpl root : channels) {
+            if (visited.containsKey(root)) {
+                continue;
+            }
+            visited.put(root, false);
+            path.push(Pair.of(root, root.getRequiredChannels().iterator()));
+
+            while (!path.isEmpty()) {
+                final ChannelImpl channel = path.peek().getLeft();
+                final Iterator<ChannelImpl> requirements = path.peek().getRight();
+                if (requirements.hasNext()) {
+                    final ChannelImpl requiredChannel = requirements.next();
+                    final String manifestId = channel.getManifest().getId();
+                    final Boolean state = visited.get(requiredChannel);
+                    if (Boolean.FALSE.equals(state) || (manifestId != null && manifestId.equals(requiredChannel.getManifest().getId()))) {
+                        throw new CyclicDependencyException("Illegal manifest dependency: " + manifestId + "->" + requiredChannel.getManifest().getId());
+                    }
+                    if (state == null) {
+                        visited.put(requiredChannel, false);
+                        path.push(Pair.of(requiredChannel, requiredChannel.getRequiredChannels().iterator()));
+                    }
+                } else {
+                    visited.put(channel, true);
+                    sorted.add(channel);
+                    path.pop();
+                }
+            }
+        }
+        return sorted;
+    }
+
+    private static ChannelImpl findChannel(List<ChannelImpl> channels, ManifestRequirement manifestRequirement) {
+        for (ChannelImpl channel : channels) {
+            if (manifestRequirement.getId().equals(channel.getManifest().getId())) {
+                return channel;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Apply the {@code task} to all the {@code items} concurrently. If several tasks fail, the failure of the first item is thrown.
+     *
+     * @return the results of the tasks, in the order of the {@code items}
+     */
+    private <T, R> List<R> runAll(List<T> items, Function<T, R> task) {
+        final List<R> results = new ArrayList<>(items.size());
+        if (items.isEmpty()) {
+            return results;
+        }
+        if (items.size() == 1) {
+            results.add(task.apply(items.get(0)));
+            return results;
+        }
+
+        final List<CompletableFuture<R>> futures = new ArrayList<>(items.size());
+        for (T item : items) {
+            futures.add(CompletableFuture.supplyAsync(() -> task.apply(item), executor));
+        }
+        try {
+            for (CompletableFuture<R> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new RuntimeException("Unable to initialize the channels.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Unable to initialize the channels: interrupted", e);
+        }
+    }
+
+    /**
+     * Identifies a required channel. {@link Channel#equals(Object)} ignores the GPG settings, which change the resolver
+     * used by the channel.
+     */
+    private static final class RequiredChannelKey {
+        private final Channel definition;
+        private final boolean gpgCheck;
+        private final List<String> gpgUrls;
+
+        private RequiredChannelKey(Channel definition) {
+            this.definition = definition;
+            this.gpgCheck = definition.isGpgCheck();
+            this.gpgUrls = definition.getGpgUrls();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            RequiredChannelKey that = (RequiredChannelKey) o;
+            return gpgCheck == that.gpgCheck && Objects.equals(definition, that.definition) && Objects.equals(gpgUrls, that.gpgUrls);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(definition, gpgCheck, gpgUrls);
+        }
+    }
+}
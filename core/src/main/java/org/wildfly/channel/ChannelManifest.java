@@ -22,11 +22,15 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -78,7 +82,12 @@ public class ChannelManifest {
     /**
      * Streams of components that are provided by this manifest.
      */
-    private Set<Stream> streams;
+    private final SortedStreams streams;
+
+    /**
+     * Streams keyed by groupId, to find the stream of an artifact without scanning all the streams.
+     */
+    private final Map<String, GroupStreams> streamIndex;
 
     /**
      * Optional list of manifests that should be checked if artifact cannot be found in this manifest.
@@ -86,7 +95,7 @@ public class ChannelManifest {
     private List<ManifestRequirement> manifestRequirements;
 
     /**
-     * Representation of a ChannelManifest resource using the current schema version.
+     * Representation of a ChannelManifest resource using the lowest schema version able to represent its streams.
      *
      * @see #ChannelManifest(String, String, String, String, Collection, Collection)
      */
@@ -94,7 +103,7 @@ public class ChannelManifest {
                            String id,
                            String description,
                            Collection<Stream> streams) {
-        this(ChannelManifestMapper.CURRENT_SCHEMA_VERSION,
+        this(ChannelManifestMapper.schemaVersionOf(streams),
                 name,
                 id,
                 null,
@@ -104,7 +113,7 @@ public class ChannelManifest {
     }
 
     /**
-     * Representation of a ChannelManifest resource using the current schema version.
+     * Representation of a ChannelManifest resource using the lowest schema version able to represent its streams.
      *
      * @see #ChannelManifest(String, String, String, String, Collection, Collection)
      */
@@ -114,7 +123,7 @@ public class ChannelManifest {
                            String description,
                            Collection<ManifestRequirement> manifestRequirements,
                            Collection<Stream> streams) {
-        this(ChannelManifestMapper.CURRENT_SCHEMA_VERSION,
+        this(ChannelManifestMapper.schemaVersionOf(streams),
                 name,
                 id,
                 logicalVersion,
@@ -149,10 +158,30 @@ public class ChannelManifest {
         if (manifestRequirements != null) {
             this.manifestRequirements.addAll(manifestRequirements);
         }
-        this.streams = new TreeSet<>();
+        final TreeSet<Stream> sortedStreams = new TreeSet<>();
         if (streams != null) {
-            this.streams.addAll(streams);
+            sortedStreams.addAll(streams);
+        }
+        this.streams = new SortedStreams(sortedStreams.toArray(new Stream[0]));
+        this.streamIndex = indexStreams(this.streams);
+    }
+
+    private static Map<String, GroupStreams> indexStreams(Set<Stream> streams) {
+        final Map<String, Map<String, Stream>> streamsByGroup = new HashMap<>();
+        final Map<String, Stream> wildcards = new HashMap<>();
+        // if several streams have the same groupId and artifactId, the first one in the order of the streams is used
+        for (Stream stream : streams) {
+            if (stream.getArtifactId().equals("*")) {
+                wildcards.putIfAbsent(stream.getGroupId(), stream);
+            } else {
+                streamsByGroup.computeIfAbsent(stream.getGroupId(), g -> new HashMap<>()).putIfAbsent(stream.getArtifactId(), stream);
+            }
         }
+
+        final Map<String, GroupStreams> index = new HashMap<>();
+        streamsByGroup.forEach((groupId, group) -> index.put(groupId, new GroupStreams(group, wildcards.get(groupId))));
+        wildcards.forEach((groupId, wildcard) -> index.putIfAbsent(groupId, new GroupStreams(Collections.emptyMap(), wildcard)));
+        return Map.copyOf(index);
     }
 
     @JsonInclude
@@ -192,14 +221,17 @@ public class ChannelManifest {
     }
 
     public Optional<Stream> findStreamFor(String groupId, String artifactId) {
+        final GroupStreams group = streamIndex.get(groupId);
+        if (group == null) {
+            return Optional.empty();
+        }
         // first exact match:
-        Optional<Stream> stream = streams.stream().filter(s -> s.getGroupId().equals(groupId) && s.getArtifactId().equals(artifactId)).findFirst();
-        if (stream.isPresent()) {
-            return stream;
+        final Stream stream = group.streams.get(artifactId);
+        if (stream != null) {
+            return Optional.of(stream);
         }
         // check if there is a stream for groupId:*
-        stream = streams.stream().filter(s -> s.getGroupId().equals(groupId) && s.getArtifactId().equals("*")).findFirst();
-        return stream;
+        return Optional.ofNullable(group.wildcard);
     }
 
     @Override
@@ -227,8 +259,50 @@ public class ChannelManifest {
         return Objects.hash(schemaVersion, name, id, description, streams, manifestRequirements);
     }
 
+    /**
+     * Streams of a groupId, keyed by artifactId, and the {@code groupId:*} stream.
+     */
+    private static final class GroupStreams {
+        private final Map<String, Stream> streams;
+        private final Stream wildcard;
+
+        private GroupStreams(Map<String, Stream> streams, Stream wildcard) {
+            this.streams = Map.copyOf(streams);
+            this.wildcard = wildcard;
+        }
+    }
+
+    /**
+     * Read-only set of the streams of a manifest, stored in an array sorted in the order of the streams.
+     * Uses a fraction of the memory of a {@link TreeSet}, which allocates a node per stream.
+     */
+    private static final class SortedStreams extends AbstractSet<Stream> {
+        private final Stream[] streams;
+
+        private SortedStreams(Stream[] streams) {
+            this.streams = streams;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            // same as TreeSet, the streams are compared with Stream#compareTo
+            return o instanceof Stream && Arrays.binarySearch(streams, o) >= 0;
+        }
+
+        @Override
+        public Iterator<Stream> iterator() {
+            return Collections.unmodifiableList(Arrays.asList(streams)).iterator();
+        }
+
+        @Override
+        public int size() {
+            return streams.length;
+        }
+    }
+
     public static class Builder {
-        private String schemaVersion = ChannelManifestMapper.CURRENT_SCHEMA_VERSION;
+        // the lowest schema version able to represent the streams if not set
+        private String schemaVersion;
         private String name;
         private String id;
         private String logicalVersion;
@@ -238,7 +312,7 @@ public class ChannelManifest {
 
         public ChannelManifest build() {
             return new ChannelManifest(
-                    schemaVersion,
+                    schemaVersion != null ? schemaVersion : ChannelManifestMapper.schemaVersionOf(streams),
                     name,
                     id,
                     logicalVersion,
@@ -28,11 +28,15 @@ import com.networknt.schema.ValidationMessage;
 import org.jboss.logging.Logger;
 import org.wildfly.channel.version.VersionMatcher;
 
+import java.io.BufferedInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringWriter;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -50,16 +54,23 @@ import static java.util.Objects.requireNonNull;
 /**
  * Mapper class to transform YAML content (from URL or String) to Channel objects (and vice versa).
  *
- * YAML input is validated against a schema.
+ * YAML input is validated against a schema. Manifests following the structure of the schema are read in a single pass
+ * over the input, without building a tree of the whole content to validate it first.
+ *
+ * Manifests written by {@link BinaryManifestMapper} are also read from URLs. Their content is read in memory and fully
+ * decoded into a {@link ChannelManifest}, skipping the YAML parsing and the schema validation. Only
+ * {@link BinaryManifestMapper#mapManifest(java.nio.file.Path)} maps a binary manifest without copying or decoding it.
  */
 public class ChannelManifestMapper extends VersionedMapper {
 
     public static final String SCHEMA_VERSION_1_0_0 = "1.0.0";
     public static final String SCHEMA_VERSION_1_1_0 = "1.1.0";
+    public static final String SCHEMA_VERSION_1_2_0 = "1.2.0";
     public static final String CURRENT_SCHEMA_VERSION = SCHEMA_VERSION_1_1_0;
 
     private static final String SCHEMA_1_0_0_FILE = "org/wildfly/manifest/v1.0.0/schema.json";
     private static final String SCHEMA_1_1_0_FILE = "org/wildfly/manifest/v1.1.0/schema.json";
+    private static final String SCHEMA_1_2_0_FILE = "org/wildfly/manifest/v1.2.0/schema.json";
     private static final YAMLFactory YAML_FACTORY = new YAMLFactory()
             .configure(YAMLGenerator.Feature.INDENT_ARRAYS_WITH_INDICATOR, true);
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper(YAML_FACTORY)
@@ -71,6 +82,7 @@ public class ChannelManifestMapper extends VersionedMapper {
     static {
         SCHEMAS.put(SCHEMA_VERSION_1_0_0, SCHEMA_FACTORY.getSchema(ChannelManifestMapper.class.getClassLoader().getResourceAsStream(SCHEMA_1_0_0_FILE)));
         SCHEMAS.put(SCHEMA_VERSION_1_1_0, SCHEMA_FACTORY.getSchema(ChannelManifestMapper.class.getClassLoader().getResourceAsStream(SCHEMA_1_1_0_FILE)));
+        SCHEMAS.put(SCHEMA_VERSION_1_2_0, SCHEMA_FACTORY.getSchema(ChannelManifestMapper.class.getClassLoader().getResourceAsStream(SCHEMA_1_2_0_FILE)));
     }
 
     private static JsonSchema getSchema(JsonNode node) {
@@ -86,6 +98,38 @@ public class ChannelManifestMapper extends VersionedMapper {
         return schema;
     }
 
+    /**
+     * Returns the lowest schema version able to represent the streams: {@link #SCHEMA_VERSION_1_2_0} if one of them
+     * defines a {@code versionRange}, {@link #CURRENT_SCHEMA_VERSION} otherwise.
+     */
+    static String schemaVersionOf(Collection<Stream> streams) {
+        if (streams != null) {
+            for (Stream stream : streams) {
+                if (stream.getVersionRange() != null) {
+                    return SCHEMA_VERSION_1_2_0;
+                }
+            }
+        }
+        return CURRENT_SCHEMA_VERSION;
+    }
+
+    /**
+     * Check a binary manifest the way its schema checks the YAML manifests: its schema version must be supported, and
+     * its streams can define a {@code versionRange} only from schema 1.2.0.
+     *
+     * @throws InvalidChannelMetadataException - if the binary manifest would not be valid in YAML
+     */
+    static void checkBinary(String schemaVersion, boolean versionRanges) throws InvalidChannelMetadataException {
+        final JsonSchema schema = schemaVersion == null ? null : getSchema(schemaVersion, SCHEMAS);
+        if (schema == null) {
+            throw new InvalidChannelMetadataException("Invalid manifest", List.of("Unknown schema version " + schemaVersion));
+        }
+        if (versionRanges && (schema == SCHEMAS.get(SCHEMA_VERSION_1_0_0) || schema == SCHEMAS.get(SCHEMA_VERSION_1_1_0))) {
+            throw new InvalidChannelMetadataException("Invalid manifest",
+                    List.of("The versionRange of a stream requires schema version " + SCHEMA_VERSION_1_2_0 + ", not " + schemaVersion));
+        }
+    }
+
     public static String toYaml(ChannelManifest channelManifest) throws IOException {
         Objects.requireNonNull(channelManifest);
         StringWriter w = new StringWriter();
@@ -93,6 +137,15 @@ public class ChannelManifestMapper extends VersionedMapper {
         return w.toString();
     }
 
+    /**
+     * Read a manifest from a YAML or binary content.
+     * <p>
+     * A binary manifest is read in memory and fully decoded, like a YAML manifest. Use
+     * {@link BinaryManifestMapper#mapManifest(java.nio.file.Path)} to look up the streams of a binary manifest file
+     * without decoding it.
+     *
+     * @throws InvalidChannelMetadataException - if the content is not a valid manifest
+     */
     public static ChannelManifest from(URL manifestURL) throws InvalidChannelMetadataException {
         requireNonNull(manifestURL);
 
@@ -102,6 +155,19 @@ public class ChannelManifestMapper extends VersionedMapper {
                 manifestURL = manifestURL.toURI().resolve("channel.yaml").toURL();
             }
 
+            try (InputStream in = new BufferedInputStream(manifestURL.openStream())) {
+                if (BinaryManifestMapper.isBinary(in)) {
+                    return BinaryManifestMapper.manifestFrom(ByteBuffer.wrap(in.readAllBytes())).toChannelManifest();
+                }
+                try (YAMLParser parser = YAML_FACTORY.createParser(in)) {
+                    final Optional<ChannelManifest> channelManifest = ChannelManifestParser.parse(parser, SCHEMAS.keySet());
+                    if (channelManifest.isPresent()) {
+                        return channelManifest.get();
+                    }
+                }
+            }
+
+            // the manifest could not be read in a single pass, validate it against its schema to report the issues
             List<String> messages = validate(manifestURL);
             if (!messages.isEmpty()) {
                 throw new InvalidChannelMetadataException("Invalid manifest", messages);
@@ -121,6 +187,13 @@ public class ChannelManifestMapper extends VersionedMapper {
         requireNonNull(yamlContent);
 
         try {
+            try (YAMLParser parser = YAML_FACTORY.createParser(yamlContent)) {
+                final Optional<ChannelManifest> channelManifest = ChannelManifestParser.parse(parser, SCHEMAS.keySet());
+                if (channelManifest.isPresent()) {
+                    return channelManifest.get();
+                }
+            }
+
             List<String> messages = validateString(yamlContent);
             if (!messages.isEmpty()) {
                 throw new InvalidChannelMetadataException("Invalid manifest", messages);
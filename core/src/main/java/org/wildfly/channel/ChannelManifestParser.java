@@ -0,0 +1,259 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Reads a manifest in a single pass over the tokens of the YAML content, checking the structural rules of the manifest
+ * schema while the streams are built. Unlike the schema validation followed by the binding, the content is not loaded
+ * into a tree first, which matters for manifests with tens of thousands of streams.
+ * <p>
+ * The rules checked are at least as strict as the schema: any content that does not follow them, or that cannot be
+ * read, is rejected without reporting why. The caller then reads the content with the schema validation, which
+ * reports the violations.
+ */
+class ChannelManifestParser {
+
+    private final JsonParser parser;
+    // versionRange is not defined by the schemas before 1.2.0
+    private boolean versionRanges;
+
+    private ChannelManifestParser(JsonParser parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * Read the manifest of the first document of the {@code parser}.
+     *
+     * @param parser - parser of the YAML content
+     * @param schemaVersions - schema versions that can be read
+     * @return the manifest, or an empty Optional if the content does not follow the structure of the manifest schema
+     *         or does not declare one of the {@code schemaVersions}
+     * @throws IOException - if the content cannot be read
+     */
+    static Optional<ChannelManifest> parse(JsonParser parser, Set<String> schemaVersions) throws IOException {
+        try {
+            final ChannelManifest manifest = new ChannelManifestParser(parser).readManifest(schemaVersions);
+            return Optional.of(manifest);
+        } catch (NotStructuredException | JsonProcessingException | IllegalArgumentException e) {
+            // malformed YAML or invalid stream, reported by the schema validation or the binding
+            return Optional.empty();
+        }
+    }
+
+    private ChannelManifest readManifest(Set<String> schemaVersions) throws IOException, NotStructuredException {
+        expect(parser.nextToken(), JsonToken.START_OBJECT);
+
+        String schemaVersion = null;
+        String name = null;
+        String id = null;
+        String logicalVersion = null;
+        String description = null;
+        List<ManifestRequirement> requirements = null;
+        List<Stream> streams = null;
+
+        final Set<String> fields = new HashSet<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "schemaVersion":
+                    schemaVersion = readString();
+                    break;
+                case "name":
+                    name = readString();
+                    break;
+                case "id":
+                    // the schema does not define the type of the ID
+                    id = parser.currentToken() == JsonToken.VALUE_NULL ? null : readString();
+                    break;
+                case "logical-version":
+                    logicalVersion = readString();
+                    break;
+                case "description":
+                    description = readString();
+                    break;
+                case "requires":
+                    requirements = readRequirements();
+                    break;
+                case "streams":
+                    streams = readStreams();
+                    break;
+                default:
+                    parser.skipChildren();
+                    continue;
+            }
+            if (!fields.add(field)) {
+                throw new NotStructuredException();
+            }
+        }
+        expect(parser.currentToken(), JsonToken.END_OBJECT);
+
+        if (schemaVersion == null || !schemaVersions.contains(schemaVersion)) {
+            throw new NotStructuredException();
+        }
+        if (versionRanges && (ChannelManifestMapper.SCHEMA_VERSION_1_0_0.equals(schemaVersion)
+                || ChannelManifestMapper.SCHEMA_VERSION_1_1_0.equals(schemaVersion))) {
+            throw new NotStructuredException();
+        }
+        return new ChannelManifest(schemaVersion, name, id, logicalVersion, description, requirements, streams);
+    }
+
+    private List<ManifestRequirement> readRequirements() throws IOException, NotStructuredException {
+        expect(parser.currentToken(), JsonToken.START_ARRAY);
+        final List<ManifestRequirement> requirements = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            expect(parser.currentToken(), JsonToken.START_OBJECT);
+            String id = null;
+            MavenCoordinate maven = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.currentName();
+                parser.nextToken();
+                if (field.equals("id")) {
+                    id = readUniqueString(id);
+                } else if (field.equals("maven")) {
+                    if (maven != null) {
+                        throw new NotStructuredException();
+                    }
+                    maven = readMavenCoordinate();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (id == null) {
+                throw new NotStructuredException();
+            }
+            requirements.add(new ManifestRequirement(id, maven));
+        }
+        return requirements;
+    }
+
+    private MavenCoordinate readMavenCoordinate() throws IOException, NotStructuredException {
+        expect(parser.currentToken(), JsonToken.START_OBJECT);
+        String groupId = null;
+        String artifactId = null;
+        String version = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "groupId":
+                    groupId = readUniqueString(groupId);
+                    break;
+                case "artifactId":
+                    artifactId = readUniqueString(artifactId);
+                    break;
+                case "version":
+                    version = readUniqueString(version);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        if (groupId == null || artifactId == null) {
+            throw new NotStructuredException();
+        }
+        return new MavenCoordinate(groupId, artifactId, version);
+    }
+
+    private List<Stream> readStreams() throws IOException, NotStructuredException {
+        expect(parser.currentToken(), JsonToken.START_ARRAY);
+        final List<Stream> streams = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            expect(parser.currentToken(), JsonToken.START_OBJECT);
+            String groupId = null;
+            String artifactId = null;
+            String version = null;
+            String versionPattern = null;
+            String versionRange = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "groupId":
+                        groupId = readUniqueString(groupId);
+                        break;
+                    case "artifactId":
+                        artifactId = readUniqueString(artifactId);
+                        break;
+                    case "version":
+                        version = readUniqueString(version);
+                        break;
+                    case "versionPattern":
+                        versionPattern = readUniqueString(versionPattern);
+                        break;
+                    case "versionRange":
+                        versionRange = readUniqueString(versionRange);
+                        versionRanges = true;
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            final int defined = (version != null ? 1 : 0) + (versionPattern != null ? 1 : 0) + (versionRange != null ? 1 : 0);
+            if (groupId == null || artifactId == null || defined != 1) {
+                throw new NotStructuredException();
+            }
+            streams.add(new Stream(groupId, artifactId, version, versionPattern == null ? null : Pattern.compile(versionPattern), versionRange));
+        }
+        if (streams.isEmpty()) {
+            throw new NotStructuredException();
+        }
+        return streams;
+    }
+
+    private String readString() throws IOException, NotStructuredException {
+        expect(parser.currentToken(), JsonToken.VALUE_STRING);
+        return parser.getText();
+    }
+
+    /**
+     * Read a string field that must only be set once.
+     */
+    private String readUniqueString(String previous) throws IOException, NotStructuredException {
+        if (previous != null) {
+            throw new NotStructuredException();
+        }
+        return readString();
+    }
+
+    private static void expect(JsonToken token, JsonToken expected) throws NotStructuredException {
+        if (token != expected) {
+            throw new NotStructuredException();
+        }
+    }
+
+    /**
+     * The content does not follow the structure of the manifest schema.
+     */
+    private static class NotStructuredException extends Exception {
+        private NotStructuredException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -19,6 +19,7 @@ package org.wildfly.channel;
 import static java.util.Objects.requireNonNull;
 
 import java.io.File;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -29,12 +30,22 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
-import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.jboss.logging.Logger;
+import org.wildfly.channel.spi.ArtifactResolutionResult;
 import org.wildfly.channel.spi.MavenVersionsResolver;
 import org.wildfly.channel.version.VersionMatcher;
 
@@ -45,10 +56,35 @@ public class ChannelSession implements AutoCloseable {
 
     private static final Logger LOG = Logger.getLogger(ChannelSession.class);
     private static final int DEFAULT_SPLIT_ARTIFACT_PARALLELISM = 10;
+    private static final int DEFAULT_VIRTUAL_THREAD_REQUESTS_PER_REPOSITORY = 50;
+    // maximum number of artifacts downloaded from a channel in a single request by resolveMavenArtifacts
+    static final int DOWNLOAD_BATCH_SIZE = 20;
 
-    private final List<ChannelImpl> channels;
+    private final List<Channel> channelDefinitions;
+    private final MavenVersionsResolver.Factory factory;
+    // top level channels, set once the channels are initialized
+    private List<ChannelImpl> channels;
+    // the channels of the session and all the channels they require, each channel after the channels it requires
+    private List<ChannelImpl> allChannels = Collections.emptyList();
+    private final boolean lazyInitialization;
+    private final Object initializationLock = new Object();
+    private volatile boolean initialized;
+    // failure of the lazy initialization caused by the channel metadata, thrown again by every use of the session
+    private RuntimeException initializationFailure;
     private final ChannelRecorder recorder = new ChannelRecorder();
     private final int versionResolutionParallelism;
+    private final boolean virtualThreads;
+    // executor resolving the artifacts of bulk requests. Either provided by the caller, or created on first use and owned by the session
+    private ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final boolean concurrentChannelLookup;
+    // executor querying the channels concurrently for a single artifact, created on first use
+    private ExecutorService channelLookupExecutor;
+    // set once the session is closed, the executors are not created again
+    private boolean closed;
+    // latest versions found during this session, keyed by the requested coordinate without version.
+    // An empty result means no channel provides the artifact.
+    private final Map<ArtifactCoordinate, Optional<ChannelImpl.ResolveLatestVersionResult>> latestVersionCache = new ConcurrentHashMap<>();
 
     /**
      * Create a ChannelSession.
@@ -59,11 +95,14 @@ public class ChannelSession implements AutoCloseable {
      * @throws CyclicDependencyException - if the required manifests form a cyclic dependency
      */
     public ChannelSession(List<Channel> channelDefinitions, MavenVersionsResolver.Factory factory) {
-        this(channelDefinitions, factory, DEFAULT_SPLIT_ARTIFACT_PARALLELISM);
+        this(new Builder(channelDefinitions, factory));
     }
 
     /**
      * Create a ChannelSession.
+     * <p>
+     * The threads used to resolve the artifacts are created on first use and shared by all the requests made
+     * through this session. They are released when the session is closed.
      *
      * @param channelDefinitions the list of channels to resolve Maven artifact
      * @param factory Factory to create {@code MavenVersionsResolver} that are performing the actual Maven resolution.
@@ -72,18 +111,115 @@ public class ChannelSession implements AutoCloseable {
      * @throws CyclicDependencyException - if the required manifests form a cyclic dependency
      */
     public ChannelSession(List<Channel> channelDefinitions, MavenVersionsResolver.Factory factory, int versionResolutionParallelism) {
-        requireNonNull(channelDefinitions);
-        requireNonNull(factory);
+        this(new Builder(channelDefinitions, factory)
+                .setVersionResolutionParallelism(versionResolutionParallelism));
+    }
+
+    /**
+     * Create a ChannelSession resolving artifacts with a caller provided executor.
+     * <p>
+     * The {@code executor} can be shared between several sessions to bound the total number of threads used
+     * to resolve artifact versions and download artifacts. The session does not shut the {@code executor} down
+     * when it is closed.
+     *
+     * @param channelDefinitions the list of channels to resolve Maven artifact
+     * @param factory Factory to create {@code MavenVersionsResolver} that are performing the actual Maven resolution.
+     * @param executor Executor used to resolve available artifact versions and download artifacts in parallel.
+     * @throws UnresolvedRequiredManifestException - if a required manifest cannot be resolved either via maven coordinates or in the list of channels
+     * @throws CyclicDependencyException - if the required manifests form a cyclic dependency
+     */
+    public ChannelSession(List<Channel> channelDefinitions, MavenVersionsResolver.Factory factory, ExecutorService executor) {
+        this(new Builder(channelDefinitions, factory)
+                .setExecutor(requireNonNull(executor)));
+    }
+
+    private ChannelSession(Builder builder) {
+        requireNonNull(builder.channelDefinitions);
+        requireNonNull(builder.factory);
+
+        this.virtualThreads = builder.virtualThreads && builder.executor == null && VirtualThreads.isSupported();
+        if (builder.virtualThreads && builder.executor == null && !this.virtualThreads) {
+            LOG.debugf("Virtual threads are not supported by Java %s, resolving artifacts with %d threads",
+                    System.getProperty("java.specification.version"), builder.versionResolutionParallelism);
+        }
 
+        MavenVersionsResolver.Factory factory = builder.factory;
+        final int maxConcurrentRequestsPerRepository = builder.maxConcurrentRequestsPerRepository != null
+                ? builder.maxConcurrentRequestsPerRepository
+                : (virtualThreads ? DEFAULT_VIRTUAL_THREAD_REQUESTS_PER_REPOSITORY : 0);
+        if (maxConcurrentRequestsPerRepository > 0) {
+            factory = new RepositoryRequestLimiter(factory, maxConcurrentRequestsPerRepository);
+        }
+
+        this.versionResolutionParallelism = builder.versionResolutionParallelism;
+        this.executor = builder.executor;
+        this.ownsExecutor = builder.executor == null;
+        this.concurrentChannelLookup = builder.concurrentChannelLookup;
+        this.channelDefinitions = List.copyOf(builder.channelDefinitions);
+        this.factory = factory;
+        this.lazyInitialization = builder.lazyInitialization;
+
+        if (!lazyInitialization) {
+            try {
+                // the executor is only created if several channels have to be loaded at the same time
+                initialize(task -> getExecutor().execute(task));
+            } catch (RuntimeException | Error e) {
+                shutdownExecutors();
+                throw e;
+            }
+        }
+    }
+
+    private void initialize(Executor loadExecutor) {
         List<ChannelImpl> channelList = channelDefinitions.stream().map(ChannelImpl::new).collect(Collectors.toList());
-        for (ChannelImpl channel : channelList) {
-            channel.init(factory, channelList);
+        try {
+            this.allChannels = new ChannelInitializer(factory, loadExecutor).init(channelList);
+        } catch (RuntimeException | Error e) {
+            // release the resolvers created for the channels, the initialization can be attempted again
+            channelList.forEach(ChannelImpl::close);
+            throw e;
         }
         // filter out channels marked as dependency, so that resolution starts only at top level channels
         this.channels = channelList.stream().filter(c->!c.isDependency()).collect(Collectors.toList());
-        this.versionResolutionParallelism = versionResolutionParallelism;
 
         validateNoDuplicatedManifests();
+        this.initialized = true;
+    }
+
+    /**
+     * Initialize the channels if the session is {@link Builder#setLazyInitialization(boolean) lazy} and they are not
+     * initialized yet. The channels are initialized only once, even if several threads use the session at the same time.
+     * <p>
+     * If the channel metadata is invalid, the failure is thrown again by every use of the session. Any other failure,
+     * such as an interruption of the initializing thread, leaves the session uninitialized, to be initialized by the
+     * next use.
+     *
+     * @throws UnresolvedRequiredManifestException - if a required manifest cannot be resolved either via maven coordinates or in the list of channels
+     * @throws CyclicDependencyException - if the required manifests form a cyclic dependency
+     */
+    private void ensureInitialized() {
+        if (initialized) {
+            return;
+        }
+        synchronized (initializationLock) {
+            if (initialized) {
+                return;
+            }
+            if (initializationFailure != null) {
+                throw initializationFailure;
+            }
+            try {
+                // the first use can come from the threads of the session executor, load the channels with threads
+                // that are never busy waiting for the initialization
+                initialize(getChannelLookupExecutor());
+            } catch (RuntimeException e) {
+                if (e instanceof UnresolvedRequiredManifestException || e instanceof CyclicDependencyException
+                        || e instanceof InvalidChannelMetadataException) {
+                    initializationFailure = e;
+                }
+                throw e;
+            }
+        }
     }
 
     /**
@@ -93,6 +229,7 @@ public class ChannelSession implements AutoCloseable {
      * @return List of {@code RuntimeChannel}s used to resolve artifacts by this session
      */
     public List<RuntimeChannel> getRuntimeChannels() {
+        ensureInitialized();
         return this.channels.stream()
                 .map(c->new RuntimeChannel(c.getResolvedChannelDefinition(), c.getManifest(), c.getBlocklist()))
                 .collect(Collectors.toList());
@@ -132,11 +269,35 @@ public class ChannelSession implements AutoCloseable {
         return new MavenArtifact(groupId, artifactId, extension, classifier, latestVersion, artifact.file, artifact.channel.getResolvedChannelDefinition().getName());
     }
 
+    /**
+     * Asynchronously resolve the Maven artifact according to the session's channels.
+     * <p>
+     * The resolution is performed by the {@code executor} as described in {@link #resolveMavenArtifact(String, String, String, String, String)}.
+     * If the artifact cannot be resolved, the returned future completes exceptionally with an {@link UnresolvedMavenArtifactException}.
+     *
+     * @param groupId - required
+     * @param artifactId - required
+     * @param extension - can be null
+     * @param classifier - can be null
+     * @param baseVersion - can be null.
+     * @param executor - required. The executor used to perform the resolution.
+     * @return a future completed with the Maven Artifact (with a file corresponding to the artifact).
+     */
+    public CompletableFuture<MavenArtifact> resolveMavenArtifactAsync(String groupId, String artifactId, String extension, String classifier,
+                                                                      String baseVersion, Executor executor) {
+        requireNonNull(groupId);
+        requireNonNull(artifactId);
+        requireNonNull(executor);
+
+        return CompletableFuture.supplyAsync(() -> resolveMavenArtifact(groupId, artifactId, extension, classifier, baseVersion), executor);
+    }
+
     /**
      * Return the list of manifests configured in this channel session.
      * @return The list of manifests.
      */
     public List<ChannelManifest> getManifests() {
+        ensureInitialized();
         return channels.stream()
                 .map(p -> p.getManifest())
                 .collect(Collectors.toUnmodifiableList());
@@ -150,6 +311,9 @@ public class ChannelSession implements AutoCloseable {
      * Once the first stream that matches the {@code groupId} and {@artifactId} parameters is found, the Maven artifact
      * will be resolved with the version determined by this stream.
      * <p>
+     * The artifacts are downloaded from their channel as soon as their version is determined, in batches, while the versions
+     * of the remaining artifacts are still being resolved.
+     * <p>
      * The returned list of resolved artifacts does not maintain ordering of requested coordinates
      *
      * @param coordinates list of ArtifactCoordinates to resolve
@@ -158,26 +322,178 @@ public class ChannelSession implements AutoCloseable {
      * @throws ArtifactTransferException if one or more of the artifacts is provided by the {@code ChannelSession}, but the resolution failed
      */
     public List<MavenArtifact> resolveMavenArtifacts(List<ArtifactCoordinate> coordinates) throws UnresolvedMavenArtifactException {
+        return resolveMavenArtifacts(coordinates, null, null);
+    }
+
+    /**
+     * Resolve a list of Maven artifacts according to the session's channels, within a {@code deadline}.
+     * <p>
+     * The artifacts are resolved as described in {@link #resolveMavenArtifacts(List)}. If the {@code deadline} expires
+     * or the {@code token} is cancelled before all the artifacts are resolved, the resolution is stopped: no further
+     * version lookups or downloads are started, the threads still working on the resolution are interrupted and
+     * a {@link ResolutionCancelledException} listing the unresolved coordinates is thrown.
+     *
+     * @param coordinates list of ArtifactCoordinates to resolve
+     * @param deadline - can be null. Maximum time to resolve all the artifacts, or {@code null} to wait until they are resolved
+     * @param token - can be null. Token stopping the resolution when cancelled
+     * @return a list of resolved MavenArtifacts with resolved versions and files
+     * @throws NoStreamFoundException if one or more of the artifact is not provided by any of the channels in the {@code ChannelSession}
+     * @throws ArtifactTransferException if one or more of the artifacts is provided by the {@code ChannelSession}, but the resolution failed
+     * @throws ResolutionCancelledException if the {@code deadline} expired or the {@code token} was cancelled
+     */
+    public List<MavenArtifact> resolveMavenArtifacts(List<ArtifactCoordinate> coordinates, Duration deadline, CancellationToken token)
+            throws UnresolvedMavenArtifactException {
         requireNonNull(coordinates);
+        validateDeadline(deadline);
 
-        Map<ChannelImpl, List<ArtifactCoordinate>> channelMap = splitArtifactsPerChannel(coordinates);
-
-        final ArrayList<MavenArtifact> res = new ArrayList<>();
-        for (ChannelImpl channel : channelMap.keySet()) {
-            final List<ArtifactCoordinate> requests = channelMap.get(channel);
-            final List<ChannelImpl.ResolveArtifactResult> resolveArtifactResults = channel.resolveArtifacts(requests);
-            for (int i = 0; i < requests.size(); i++) {
-                final ArtifactCoordinate request = requests.get(i);
-                final MavenArtifact resolvedArtifact = new MavenArtifact(request.getGroupId(), request.getArtifactId(),
-                        request.getExtension(), request.getClassifier(), request.getVersion(),
-                        resolveArtifactResults.get(i).file,
-                        resolveArtifactResults.get(i).channel.getResolvedChannelDefinition().getName());
-
-                recorder.recordStream(resolvedArtifact.getGroupId(), resolvedArtifact.getArtifactId(), resolvedArtifact.getVersion());
-                res.add(resolvedArtifact);
-            }
+        return await(resolveMavenArtifacts(coordinates, this::findChannelWithLatestVersion, getExecutor(), deadline, token));
+    }
+
+    /**
+     * Resolve a list of Maven artifacts according to the session's channels, passing each artifact to the {@code consumer}
+     * as soon as its file is available.
+     * <p>
+     * The artifacts are resolved as described in {@link #resolveMavenArtifacts(List)}. The {@code consumer} is called by
+     * the threads of the session while the remaining artifacts are still being resolved, but never concurrently.
+     * The resolved artifacts are not retained by the session. This method returns once all the artifacts were passed to
+     * the {@code consumer}.
+     * <p>
+     * If an artifact cannot be resolved, or the {@code consumer} throws an exception, no further artifacts are passed
+     * to the {@code consumer} and the exception is thrown by this method.
+     *
+     * @param coordinates list of ArtifactCoordinates to resolve
+     * @param consumer receives the resolved MavenArtifacts, in no particular order
+     * @throws NoStreamFoundException if one or more of the artifact is not provided by any of the channels in the {@code ChannelSession}
+     * @throws ArtifactTransferException if one or more of the artifacts is provided by the {@code ChannelSession}, but the resolution failed
+     */
+    public void resolveMavenArtifacts(List<ArtifactCoordinate> coordinates, Consumer<MavenArtifact> consumer) throws UnresolvedMavenArtifactException {
+        resolveMavenArtifacts(coordinates, consumer, null, null);
+    }
+
+    /**
+     * Resolve a list of Maven artifacts according to the session's channels within a {@code deadline}, passing each
+     * artifact to the {@code consumer} as soon as its file is available.
+     * <p>
+     * The artifacts are resolved as described in {@link #resolveMavenArtifacts(List, Consumer)}. If the {@code deadline}
+     * expires or the {@code token} is cancelled before all the artifacts are passed to the {@code consumer}, the resolution
+     * is stopped as described in {@link #resolveMavenArtifacts(List, Duration, CancellationToken)}. The artifacts already
+     * passed to the {@code consumer} are not listed in the thrown exception.
+     *
+     * @param coordinates list of ArtifactCoordinates to resolve
+     * @param consumer receives the resolved MavenArtifacts, in no particular order
+     * @param deadline - can be null. Maximum time to resolve all the artifacts, or {@code null} to wait until they are resolved
+     * @param token - can be null. Token stopping the resolution when cancelled
+     * @throws NoStreamFoundException if one or more of the artifact is not provided by any of the channels in the {@code ChannelSession}
+     * @throws ArtifactTransferException if one or more of the artifacts is provided by the {@code ChannelSession}, but the resolution failed
+     * @throws ResolutionCancelledException if the {@code deadline} expired or the {@code token} was cancelled
+     */
+    public void resolveMavenArtifacts(List<ArtifactCoordinate> coordinates, Consumer<MavenArtifact> consumer, Duration deadline,
+                                      CancellationToken token) throws UnresolvedMavenArtifactException {
+        requireNonNull(coordinates);
+        requireNonNull(consumer);
+        validateDeadline(deadline);
+
+        await(resolve(coordinates, this::findChannelWithLatestVersion, getExecutor(), artifact -> {
+            consumer.accept(artifact);
+            recorder.recordStream(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion());
+        }, deadline, token));
+    }
+
+    /**
+     * Asynchronously resolve a list of Maven artifacts according to the session's channels.
+     * <p>
+     * The resolution is performed by the {@code executor} as described in {@link #resolveMavenArtifacts(List)}.
+     * If any of the artifacts cannot be resolved, the returned future completes exceptionally with an {@link UnresolvedMavenArtifactException}.
+     *
+     * @param coordinates list of ArtifactCoordinates to resolve
+     * @param executor - required. The executor used to perform the resolution.
+     * @return a future completed with the list of resolved MavenArtifacts
+     */
+    public CompletableFuture<List<MavenArtifact>> resolveMavenArtifactsAsync(List<ArtifactCoordinate> coordinates, Executor executor) {
+        requireNonNull(coordinates);
+        requireNonNull(executor);
+
+        return resolveMavenArtifacts(coordinates, this::findChannelWithLatestVersion, executor, null, null);
+    }
+
+    /**
+     * Determine the versions of a list of Maven artifacts and the channels providing them, without downloading the artifacts.
+     * <p>
+     * The versions are determined as described in {@link #resolveMavenArtifacts(List)}. The returned plan can be
+     * executed later, possibly by another session created with the same channels, with {@link #resolvePlan(ResolutionPlan)}.
+     *
+     * @param coordinates list of ArtifactCoordinates to plan
+     * @return the plan of the resolution, with an entry per coordinate in the order of the {@code coordinates}
+     * @throws NoStreamFoundException if one or more of the artifact is not provided by any of the channels in the {@code ChannelSession}
+     */
+    public ResolutionPlan plan(List<ArtifactCoordinate> coordinates) throws NoStreamFoundException {
+        requireNonNull(coordinates);
+
+        final Executor executor = getExecutor();
+        // the version only depends on the groupId and artifactId, so it is looked up once for all the coordinates sharing them
+        final Map<Pair<String, String>, CompletableFuture<ChannelImpl.ResolveLatestVersionResult>> lookups = new HashMap<>();
+        for (ArtifactCoordinate coord : coordinates) {
+            lookups.computeIfAbsent(Pair.of(coord.getGroupId(), coord.getArtifactId()),
+                    ga -> CompletableFuture.supplyAsync(() -> findChannelWithLatestVersion(coord), executor));
         }
-        return res;
+
+        return await(CompletableFuture.allOf(lookups.values().toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    final List<ResolutionPlan.Entry> entries = new ArrayList<>(coordinates.size());
+                    for (ArtifactCoordinate coord : coordinates) {
+                        final ChannelImpl.ResolveLatestVersionResult found = lookups.get(Pair.of(coord.getGroupId(), coord.getArtifactId())).join();
+                        final Channel definition = found.channel.getResolvedChannelDefinition();
+                        entries.add(new ResolutionPlan.Entry(coord, found.version, definition.getName(), definition.getRepositories()));
+                    }
+                    return new ResolutionPlan(entries);
+                }));
+    }
+
+    /**
+     * Download the artifacts of a {@code plan} computed by {@link #plan(List)}.
+     * <p>
+     * The versions are not looked up again: each artifact is downloaded with the planned version from the channel
+     * of this session with the planned name and repositories. All the artifacts are downloaded in parallel, in batches.
+     * <p>
+     * The returned list of resolved artifacts does not maintain the ordering of the plan.
+     *
+     * @param plan - required. The plan to execute
+     * @return a list of resolved MavenArtifacts with the planned versions and their files
+     * @throws IllegalArgumentException if a channel of the {@code plan} is not part of this session
+     * @throws ArtifactTransferException if one or more of the artifacts cannot be downloaded
+     */
+    public List<MavenArtifact> resolvePlan(ResolutionPlan plan) throws UnresolvedMavenArtifactException {
+        return resolvePlan(plan, null, null);
+    }
+
+    /**
+     * Download the artifacts of a {@code plan} computed by {@link #plan(List)} within a {@code deadline}.
+     * <p>
+     * The artifacts are downloaded as described in {@link #resolvePlan(ResolutionPlan)}, and the resolution is stopped
+     * as described in {@link #resolveMavenArtifacts(List, Duration, CancellationToken)}.
+     *
+     * @param plan - required. The plan to execute
+     * @param deadline - can be null. Maximum time to resolve all the artifacts, or {@code null} to wait until they are resolved
+     * @param token - can be null. Token stopping the resolution when cancelled
+     * @return a list of resolved MavenArtifacts with the planned versions and their files
+     * @throws IllegalArgumentException if a channel of the {@code plan} is not part of this session
+     * @throws ArtifactTransferException if one or more of the artifacts cannot be downloaded
+     * @throws ResolutionCancelledException if the {@code deadline} expired or the {@code token} was cancelled
+     */
+    public List<MavenArtifact> resolvePlan(ResolutionPlan plan, Duration deadline, CancellationToken token) throws UnresolvedMavenArtifactException {
+        requireNonNull(plan);
+        validateDeadline(deadline);
+        ensureInitialized();
+
+        final List<ArtifactCoordinate> coordinates = new ArrayList<>(plan.getEntries().size());
+        final Map<ArtifactCoordinate, ChannelImpl.ResolveLatestVersionResult> planned = new HashMap<>();
+        for (ResolutionPlan.Entry entry : plan.getEntries()) {
+            final ArtifactCoordinate coordinate = entry.getRequestedCoordinate();
+            coordinates.add(coordinate);
+            planned.put(coordinate, new ChannelImpl.ResolveLatestVersionResult(entry.getVersion(), findPlannedChannel(entry)));
+        }
+
+        return await(resolveMavenArtifacts(coordinates, planned::get, getExecutor(), deadline, token));
     }
 
     /**
@@ -197,6 +513,7 @@ public class ChannelSession implements AutoCloseable {
         requireNonNull(groupId);
         requireNonNull(artifactId);
         requireNonNull(version);
+        ensureInitialized();
 
         /*
          * when resolving a direct artifact we don't care if a channel manifest lists that artifact, we resolve it
@@ -224,10 +541,7 @@ public class ChannelSession implements AutoCloseable {
         } else {
             throw new ArtifactTransferException("Unable to resolve direct artifact.",
                     Set.of(new ArtifactCoordinate(groupId, artifactId, extension, classifier, version)),
-                    channels.stream()
-                            .map(ChannelImpl::getResolvedChannelDefinition)
-                            .flatMap(cd->cd.getRepositories().stream())
-                            .collect(Collectors.toSet()));
+                    getAttemptedRepositories());
         }
     }
 
@@ -246,6 +560,7 @@ public class ChannelSession implements AutoCloseable {
             requireNonNull(c.getArtifactId());
             requireNonNull(c.getVersion());
         });
+        ensureInitialized();
 
         /*
          * When resolving a "direct" artifact, we don't care if the artifact is listed in the channel's manifest,
@@ -267,34 +582,17 @@ public class ChannelSession implements AutoCloseable {
                 break;
             }
 
-            try {
-                final List<ChannelImpl.ResolveArtifactResult> resolved = channel.resolveArtifacts(currentQuery);
-                // keep a map of AC -> File
-                for (int i = 0; i < currentQuery.size(); i++) {
-                    resolvedArtifacts.put(currentQuery.get(i), Pair.of(resolved.get(i).file, channel.getResolvedChannelDefinition().getName()));
-                }
-                // all the artifacts were resolved by this point, lets remove all artifacts from the current query
-                currentQuery = Collections.emptyList();
-            } catch (UnresolvedMavenArtifactException e) {
-                // at the end need to map them into a correct order
-                final Set<ArtifactCoordinate> unresolvedArtifacts = e.getUnresolvedArtifacts();
-                // coordinates - unresolved = it should be possible to resolve those artifacts from this channel
-                // we need to call resolve again, because the first call threw an exception
-                currentQuery.removeAll(unresolvedArtifacts);
-                final List<ChannelImpl.ResolveArtifactResult> resolved = channel.resolveArtifacts(currentQuery);
-                for (int i = 0; i < currentQuery.size(); i++) {
-                    resolvedArtifacts.put(currentQuery.get(i), Pair.of(resolved.get(i).file, channel.getResolvedChannelDefinition().getName()));
-                }
-                // unresolved - try with another channel, rinse and repeat until run out of channels or resolve all artifacts
-                currentQuery = new ArrayList<>(unresolvedArtifacts);
-            }
+            // each channel returns the artifacts it was able to resolve together with the unresolved ones,
+            // so the available artifacts are not resolved twice
+            final ArtifactResolutionResult resolved = channel.resolveAvailableArtifacts(currentQuery);
+            resolved.getResolved().forEach((coordinate, file) ->
+                    resolvedArtifacts.put(coordinate, Pair.of(file, channel.getResolvedChannelDefinition().getName())));
+            // unresolved - try with another channel, rinse and repeat until run out of channels or resolve all artifacts
+            currentQuery = new ArrayList<>(resolved.getUnresolved());
         }
         if (!currentQuery.isEmpty()) {
             throw new ArtifactTransferException("Unable to resolve some direct artifacts", new HashSet<>(currentQuery),
-                    channels.stream()
-                            .map(ChannelImpl::getResolvedChannelDefinition)
-                            .flatMap(cd->cd.getRepositories().stream())
-                            .collect(Collectors.toSet()));
+                    getAttemptedRepositories());
         }
 
         // finally, build a list of resolved files in a correct order to return and record the streams
@@ -324,10 +622,62 @@ public class ChannelSession implements AutoCloseable {
         return new VersionResult(channelWithLatestVersion.version, channelWithLatestVersion.channel.getResolvedChannelDefinition().getName());
     }
 
+    /**
+     * Asynchronously find the latest version of the Maven artifact in the session's channel. The artifact file will not be resolved.
+     * <p>
+     * The lookup is performed by the {@code executor} as described in {@link #findLatestMavenArtifactVersion(String, String, String, String, String)}.
+     * If the latest version cannot be established, the returned future completes exceptionally with a {@link NoStreamFoundException}.
+     *
+     * @param groupId - required
+     * @param artifactId - required
+     * @param extension - can be null
+     * @param classifier - can be null
+     * @param baseVersion - can be null.
+     * @param executor - required. The executor used to perform the lookup.
+     * @return a future completed with the latest version of the Maven artifact
+     */
+    public CompletableFuture<VersionResult> findLatestMavenArtifactVersionAsync(String groupId, String artifactId, String extension, String classifier,
+                                                                                String baseVersion, Executor executor) {
+        requireNonNull(groupId);
+        requireNonNull(artifactId);
+        requireNonNull(executor);
+
+        return CompletableFuture.supplyAsync(() -> findLatestMavenArtifactVersion(groupId, artifactId, extension, classifier, baseVersion), executor);
+    }
+
+    /**
+     * Discard the latest versions found so far by this session.
+     * <p>
+     * The session remembers the outcome of every latest version lookup (including artifacts not provided by any channel)
+     * for its whole lifetime, so that the same artifact is not looked up in the channels repeatedly. After calling
+     * this method, subsequent calls will query the channels again.
+     */
+    public void invalidate() {
+        latestVersionCache.clear();
+    }
+
     @Override
     public void close()  {
-        for (ChannelImpl channel : channels) {
-            channel.close();
+        // close the channels before the channels they require. If the session is lazy, they might not be initialized
+        final List<ChannelImpl> allChannels;
+        synchronized (initializationLock) {
+            allChannels = this.allChannels;
+        }
+        for (int i = allChannels.size() - 1; i >= 0; i--) {
+            allChannels.get(i).close();
+        }
+        shutdownExecutors();
+    }
+
+    private synchronized void shutdownExecutors() {
+        closed = true;
+        if (ownsExecutor && executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+        if (channelLookupExecutor != null) {
+            channelLookupExecutor.shutdown();
+            channelLookupExecutor = null;
         }
     }
 
@@ -354,63 +704,327 @@ public class ChannelSession implements AutoCloseable {
         requireNonNull(groupId);
         requireNonNull(artifactId);
 
+        // baseVersion does not affect the lookup, so it is not part of the key
+        final ArtifactCoordinate key = new ArtifactCoordinate(groupId, artifactId, extension, classifier, "");
+        Optional<ChannelImpl.ResolveLatestVersionResult> result = latestVersionCache.get(key);
+        if (result == null) {
+            result = findLatestVersionInChannels(groupId, artifactId, extension, classifier, baseVersion);
+            final Optional<ChannelImpl.ResolveLatestVersionResult> existing = latestVersionCache.putIfAbsent(key, result);
+            if (existing != null) {
+                result = existing;
+            }
+        }
+
+        return result.orElseThrow(() -> new NoStreamFoundException(
+                String.format("Can not resolve latest Maven artifact (no stream found) : %s:%s:%s:%s", groupId, artifactId, extension, classifier),
+                Collections.singleton(key), getAttemptedRepositories()));
+    }
+
+    /**
+     * Find the channel of the session, or one of their required channels, matching the channel of a plan {@code entry}.
+     */
+    private ChannelImpl findPlannedChannel(ResolutionPlan.Entry entry) {
+        final List<ChannelImpl> toVisit = new ArrayList<>(channels);
+        while (!toVisit.isEmpty()) {
+            final ChannelImpl channel = toVisit.remove(0);
+            final Channel definition = channel.getResolvedChannelDefinition();
+            if (Objects.equals(entry.getChannelName().orElse(null), definition.getName())
+                    && entry.getRepositories().equals(definition.getRepositories())) {
+                return channel;
+            }
+            toVisit.addAll(0, channel.getRequiredChannels());
+        }
+        throw new IllegalArgumentException("The channel " + entry.getChannelName().orElse("") + " with repositories "
+                + entry.getRepositories() + " planned for " + entry.getCoordinate() + " is not part of the session");
+    }
+
+    private Set<Repository> getAttemptedRepositories() {
+        // a lazy session can be aborted before its channels are initialized
+        final List<Channel> definitions = initialized
+                ? channels.stream().map(ChannelImpl::getResolvedChannelDefinition).collect(Collectors.toList())
+                : channelDefinitions;
+        return definitions.stream()
+                .flatMap(d -> d.getRepositories().stream())
+                .collect(Collectors.toSet());
+    }
+
+    private Optional<ChannelImpl.ResolveLatestVersionResult> findLatestVersionInChannels(String groupId, String artifactId, String extension, String classifier, String baseVersion) {
+        ensureInitialized();
+
+        final List<Optional<ChannelImpl.ResolveLatestVersionResult>> results;
+        if (concurrentChannelLookup && channels.size() > 1) {
+            results = resolveLatestVersionConcurrently(groupId, artifactId, extension, classifier, baseVersion);
+        } else {
+            results = new ArrayList<>(channels.size());
+            for (ChannelImpl channel : channels) {
+                results.add(channel.resolveLatestVersion(groupId, artifactId, extension, classifier, baseVersion));
+            }
+        }
+
+        // the results are in the order of the channels, if several channels provide the same version, the last one is used
         Map<String, ChannelImpl.ResolveLatestVersionResult> foundVersions = new HashMap<>();
-        for (ChannelImpl channel : channels) {
-            Optional<ChannelImpl.ResolveLatestVersionResult> result = channel.resolveLatestVersion(groupId, artifactId, extension, classifier, baseVersion);
+        for (Optional<ChannelImpl.ResolveLatestVersionResult> result : results) {
             if (result.isPresent()) {
                 foundVersions.put(result.get().version, result.get());
             }
         }
 
         // find the latest version from all the channels that defined the stream.
-        Optional<String> foundLatestVersionInChannels = foundVersions.keySet().stream().max(VersionMatcher.COMPARATOR);
-        return foundVersions.get(foundLatestVersionInChannels.orElseThrow(() -> {
-            final ArtifactCoordinate coord = new ArtifactCoordinate(groupId, artifactId, extension, classifier, "");
-            final Set<Repository> repositories = channels.stream()
-                    .map(ChannelImpl::getResolvedChannelDefinition)
-                    .flatMap(d -> d.getRepositories().stream())
-                    .collect(Collectors.toSet());
-            throw new NoStreamFoundException(
-                    String.format("Can not resolve latest Maven artifact (no stream found) : %s:%s:%s:%s", groupId, artifactId, extension, classifier),
-                    Collections.singleton(coord), repositories);
-        }));
-    }
-
-    private Map<ChannelImpl, List<ArtifactCoordinate>> splitArtifactsPerChannel(List<ArtifactCoordinate> coordinates) {
-        long start = System.currentTimeMillis();
-        Map<ChannelImpl, List<ArtifactCoordinate>> channelMap = new HashMap<>();
-
-        ForkJoinPool customThreadPool = new ForkJoinPool(versionResolutionParallelism);
-        ForkJoinTask<?> task = customThreadPool.submit(() -> coordinates.parallelStream().forEach(coord -> {
-            ChannelImpl.ResolveLatestVersionResult result = findChannelWithLatestVersion(coord.getGroupId(), coord.getArtifactId(),
-                    coord.getExtension(), coord.getClassifier(), coord.getVersion());
-            ArtifactCoordinate query = new ArtifactCoordinate(coord.getGroupId(), coord.getArtifactId(), coord.getExtension(), coord.getClassifier(), result.version);
-            ChannelImpl channel = result.channel;
-            synchronized (ChannelSession.this) {
-                if (!channelMap.containsKey(channel)) {
-                    channelMap.put(channel, new ArrayList<>());
-                }
-                channelMap.get(channel).add(query);
+        return foundVersions.keySet().stream()
+                .max(VersionMatcher.COMPARATOR)
+                .map(foundVersions::get);
+    }
+
+    /**
+     * Query all the channels at the same time. The first channel is queried by the calling thread.
+     *
+     * @return the result of each channel, in the order of the channels
+     */
+    private List<Optional<ChannelImpl.ResolveLatestVersionResult>> resolveLatestVersionConcurrently(String groupId, String artifactId, String extension,
+                                                                                                   String classifier, String baseVersion) {
+        final ExecutorService lookupExecutor = getChannelLookupExecutor();
+        final List<CompletableFuture<Optional<ChannelImpl.ResolveLatestVersionResult>>> lookups = new ArrayList<>(channels.size() - 1);
+        for (ChannelImpl channel : channels.subList(1, channels.size())) {
+            lookups.add(CompletableFuture.supplyAsync(() -> channel.resolveLatestVersion(groupId, artifactId, extension, classifier, baseVersion),
+                    lookupExecutor));
+        }
+
+        final List<Optional<ChannelImpl.ResolveLatestVersionResult>> results = new ArrayList<>(channels.size());
+        try {
+            results.add(channels.get(0).resolveLatestVersion(groupId, artifactId, extension, classifier, baseVersion));
+            // wait for the lookups in the order of the channels, so that the same failure is reported as by a sequential lookup
+            for (CompletableFuture<Optional<ChannelImpl.ResolveLatestVersionResult>> lookup : lookups) {
+                results.add(lookup.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            lookups.forEach(l -> l.cancel(false));
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new RuntimeException("Unable to resolve the latest version of " + groupId + ":" + artifactId, e);
+        } catch (InterruptedException e) {
+            lookups.forEach(l -> l.cancel(false));
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Unable to resolve the latest version of " + groupId + ":" + artifactId + ": interrupted", e);
+        } catch (RuntimeException | Error e) {
+            lookups.forEach(l -> l.cancel(false));
+            throw e;
+        }
+    }
+
+    private synchronized ExecutorService getChannelLookupExecutor() {
+        checkNotClosed();
+        if (channelLookupExecutor == null) {
+            if (virtualThreads) {
+                channelLookupExecutor = VirtualThreads.newExecutor();
+            } else {
+                // the lookups can be started from the threads of the session executor, so they need their own threads to avoid
+                // waiting on each other
+                final AtomicInteger threadCount = new AtomicInteger();
+                channelLookupExecutor = Executors.newCachedThreadPool(r -> {
+                    final Thread thread = new Thread(r, "channel-lookup-" + threadCount.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
             }
-        }));
+        }
+        return channelLookupExecutor;
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        checkNotClosed();
+        if (executor == null) {
+            executor = virtualThreads ? VirtualThreads.newExecutor() : new ForkJoinPool(versionResolutionParallelism);
+        }
+        return executor;
+    }
+
+    // must be called while holding the lock
+    private void checkNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("The session is closed");
+        }
+    }
 
+    private static <T> T await(CompletableFuture<T> resolution) {
         try {
-            task.get();
+            return resolution.get();
         } catch (ExecutionException e) {
-            if (e.getCause() instanceof UnresolvedMavenArtifactException) {
-                // rethrow the UnresolvedMavenArtifactException if it's the cause
-                throw (UnresolvedMavenArtifactException) e.getCause();
+            if (e.getCause() instanceof RuntimeException) {
+                // rethrow the UnresolvedMavenArtifactException (or any other runtime exception) if it's the cause
+                throw (RuntimeException) e.getCause();
             }
-            throw new RuntimeException("Unable to resolve latest artifact versions.", e);
+            throw new RuntimeException("Unable to resolve Maven artifacts.", e);
         } catch (InterruptedException e) {
-            throw new RuntimeException("Unable to resolve latest artifact versions: interrupted", e);
-        } finally {
-            customThreadPool.shutdown();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Unable to resolve Maven artifacts: interrupted", e);
         }
+    }
+
+    private ChannelImpl.ResolveLatestVersionResult findChannelWithLatestVersion(ArtifactCoordinate coord) {
+        return findChannelWithLatestVersion(coord.getGroupId(), coord.getArtifactId(), coord.getExtension(), coord.getClassifier(), coord.getVersion());
+    }
+
+    private CompletableFuture<List<MavenArtifact>> resolveMavenArtifacts(List<ArtifactCoordinate> coordinates,
+                                                                         Function<ArtifactCoordinate, ChannelImpl.ResolveLatestVersionResult> versionLookup,
+                                                                         Executor executor, Duration deadline, CancellationToken token) {
+        // only accessed by the pipeline's consumer, which is never called concurrently
+        final List<MavenArtifact> artifacts = new ArrayList<>(coordinates.size());
 
-        float total = (System.currentTimeMillis() - start) / 1000f;
-        LOG.debugf("Splitting artifacts per channels took %.2f seconds", total);
+        return resolve(coordinates, versionLookup, executor, artifacts::add, deadline, token).thenApply(ignored -> {
+            artifacts.forEach(resolvedArtifact ->
+                    recorder.recordStream(resolvedArtifact.getGroupId(), resolvedArtifact.getArtifactId(), resolvedArtifact.getVersion()));
+            return artifacts;
+        });
+    }
 
-        return channelMap;
+    /**
+     * Resolve the {@code coordinates} with a {@link ResolutionPipeline}, aborting it when the {@code deadline} expires
+     * or the {@code token} is cancelled.
+     */
+    private CompletableFuture<Void> resolve(List<ArtifactCoordinate> coordinates,
+                                            Function<ArtifactCoordinate, ChannelImpl.ResolveLatestVersionResult> versionLookup,
+                                            Executor executor, Consumer<MavenArtifact> consumer, Duration deadline, CancellationToken token) {
+        final ResolutionPipeline pipeline = new ResolutionPipeline(versionLookup, executor, DOWNLOAD_BATCH_SIZE, consumer);
+        final CompletableFuture<Void> resolution = pipeline.resolve(coordinates);
+
+        if (token != null) {
+            final Runnable unregister = token.register(() -> pipeline.abort(unresolved -> new ResolutionCancelledException(
+                    "The resolution of Maven artifacts was cancelled", unresolved, getAttemptedRepositories(), false)));
+            resolution.whenComplete((ignored, failure) -> unregister.run());
+        }
+        if (deadline != null) {
+            final CompletableFuture<Void> timer = new CompletableFuture<Void>().orTimeout(deadline.toMillis(), TimeUnit.MILLISECONDS);
+            timer.whenComplete((ignored, failure) -> {
+                if (failure instanceof TimeoutException) {
+                    pipeline.abort(unresolved -> new ResolutionCancelledException(
+                            "Unable to resolve Maven artifacts within " + deadline, unresolved, getAttemptedRepositories(), true));
+                }
+            });
+            // completing the timer cancels the pending timeout
+            resolution.whenComplete((ignored, failure) -> timer.complete(null));
+        }
+        return resolution;
+    }
+
+    private static void validateDeadline(Duration deadline) {
+        if (deadline != null && deadline.isNegative()) {
+            throw new IllegalArgumentException("The deadline cannot be negative");
+        }
+    }
+
+    /**
+     * Builder of {@code ChannelSession}s with non-default settings.
+     */
+    public static class Builder {
+        private final List<Channel> channelDefinitions;
+        private final MavenVersionsResolver.Factory factory;
+        private int versionResolutionParallelism = DEFAULT_SPLIT_ARTIFACT_PARALLELISM;
+        private ExecutorService executor;
+        private boolean virtualThreads;
+        private Integer maxConcurrentRequestsPerRepository;
+        private boolean concurrentChannelLookup;
+        private boolean lazyInitialization;
+
+        /**
+         * @param channelDefinitions the list of channels to resolve Maven artifact
+         * @param factory Factory to create {@code MavenVersionsResolver} that are performing the actual Maven resolution.
+         */
+        public Builder(List<Channel> channelDefinitions, MavenVersionsResolver.Factory factory) {
+            this.channelDefinitions = channelDefinitions;
+            this.factory = factory;
+        }
+
+        /**
+         * Create the ChannelSession.
+         *
+         * @return the new session
+         * @throws UnresolvedRequiredManifestException - if a required manifest cannot be resolved either via maven coordinates or in the list of channels
+         * @throws CyclicDependencyException - if the required manifests form a cyclic dependency
+         */
+        public ChannelSession build() {
+            return new ChannelSession(this);
+        }
+
+        /**
+         * @param versionResolutionParallelism Number of threads to use when resolving available artifact versions.
+         *                                     Ignored if an executor is provided or virtual threads are used.
+         */
+        public Builder setVersionResolutionParallelism(int versionResolutionParallelism) {
+            this.versionResolutionParallelism = versionResolutionParallelism;
+            return this;
+        }
+
+        /**
+         * @param executor Executor used to resolve available artifact versions and download artifacts in parallel.
+         *                 The session does not shut the executor down when it is closed.
+         */
+        public Builder setExecutor(ExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Resolve each artifact in its own virtual thread instead of using a fixed number of threads.
+         * <p>
+         * Virtual threads require Java 21 or later. On older runtimes, this setting is ignored. It is also ignored if
+         * an executor is provided. Unless set explicitly, the number of concurrent requests per repository is limited to
+         * {@value #DEFAULT_VIRTUAL_THREAD_REQUESTS_PER_REPOSITORY} when virtual threads are used.
+         *
+         * @see #setMaxConcurrentRequestsPerRepository(int)
+         *
+         * @param virtualThreads {@code true} to use virtual threads if the runtime supports them
+         */
+        public Builder setVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
+        /**
+         * @param maxConcurrentRequestsPerRepository Maximum number of requests made concurrently to each Maven repository
+         *                                           by this session. {@code 0} means no limit.
+         */
+        public Builder setMaxConcurrentRequestsPerRepository(int maxConcurrentRequestsPerRepository) {
+            if (maxConcurrentRequestsPerRepository < 0) {
+                throw new IllegalArgumentException("The maximum number of concurrent requests cannot be negative");
+            }
+            this.maxConcurrentRequestsPerRepository = maxConcurrentRequestsPerRepository;
+            return this;
+        }
+
+        /**
+         * Query all the channels of the session at the same time when looking up the latest version of an artifact,
+         * instead of one after another.
+         * <p>
+         * The lookup then takes as long as the slowest channel instead of the sum of all the channels. The found version
+         * is the same in both modes: if several channels provide the latest version, the last of them in the session
+         * is used.
+         *
+         * @param concurrentChannelLookup {@code true} to query the channels concurrently
+         */
+        public Builder setConcurrentChannelLookup(boolean concurrentChannelLookup) {
+            this.concurrentChannelLookup = concurrentChannelLookup;
+            return this;
+        }
+
+        /**
+         * Defer the resolution of the channel manifests and blocklists until the session is first used, instead of
+         * resolving them when the session is created.
+         * <p>
+         * The channels are initialized once, by the first call needing them, including {@link ChannelSession#getRuntimeChannels()}
+         * and {@link ChannelSession#getManifests()}. The {@link UnresolvedRequiredManifestException} or
+         * {@link CyclicDependencyException} that would be thrown by {@link #build()} are then thrown by that call,
+         * and again by every following call.
+         *
+         * @param lazyInitialization {@code true} to initialize the channels on first use
+         */
+        public Builder setLazyInitialization(boolean lazyInitialization) {
+            this.lazyInitialization = lazyInitialization;
+            return this;
+        }
     }
 }
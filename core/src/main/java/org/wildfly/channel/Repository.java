@@ -20,12 +20,15 @@ package org.wildfly.channel;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.io.Serializable;
 import java.util.Objects;
 
 /**
  * Java representation of Repository
  */
-public class Repository {
+public class Repository implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     /**
      * ID of the repository.
      * Can be used to identify repository mirrors and proxies.
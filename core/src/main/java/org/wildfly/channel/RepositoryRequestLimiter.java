@@ -0,0 +1,153 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel;
+
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.naturalOrder;
+import static java.util.Comparator.nullsFirst;
+
+import java.io.File;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.wildfly.channel.spi.ArtifactResolutionResult;
+import org.wildfly.channel.spi.MavenVersionsResolver;
+
+/**
+ * Bounds the number of concurrent requests made to each Maven repository.
+ * <p>
+ * Wraps the {@code MavenVersionsResolver}s created by the delegate factory. Before each request, the wrapped resolver
+ * acquires a permit for every repository of its channel and releases them once the request completes.
+ * The permits are shared by all the resolvers created by this factory.
+ */
+class RepositoryRequestLimiter implements MavenVersionsResolver.Factory {
+
+    private final MavenVersionsResolver.Factory delegate;
+    private final int maxRequestsPerRepository;
+    private final Map<Repository, Semaphore> permits = new ConcurrentHashMap<>();
+
+    RepositoryRequestLimiter(MavenVersionsResolver.Factory delegate, int maxRequestsPerRepository) {
+        this.delegate = delegate;
+        this.maxRequestsPerRepository = maxRequestsPerRepository;
+    }
+
+    @Override
+    public MavenVersionsResolver create(Channel channel) {
+        // always acquire the permits in the same order to prevent deadlocks between channels sharing repositories
+        final List<Repository> repositories = new ArrayList<>(new HashSet<>(channel.getRepositories()));
+        repositories.sort(comparing(Repository::getId, nullsFirst(naturalOrder()))
+                .thenComparing(Repository::getUrl, nullsFirst(naturalOrder())));
+        final List<Semaphore> channelPermits = repositories.stream()
+                .map(r -> permits.computeIfAbsent(r, k -> new Semaphore(maxRequestsPerRepository)))
+                .collect(Collectors.toList());
+
+        return new LimitedResolver(delegate.create(channel), channelPermits, new HashSet<>(repositories));
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    private static class LimitedResolver implements MavenVersionsResolver {
+        private final MavenVersionsResolver wrapped;
+        private final List<Semaphore> permits;
+        private final Set<Repository> repositories;
+
+        LimitedResolver(MavenVersionsResolver wrapped, List<Semaphore> permits, Set<Repository> repositories) {
+            this.wrapped = wrapped;
+            this.permits = permits;
+            this.repositories = repositories;
+        }
+
+        private <T> T withPermits(Set<ArtifactCoordinate> requested, Supplier<T> request) {
+            int acquired = 0;
+            try {
+                for (Semaphore permit : permits) {
+                    permit.acquire();
+                    acquired++;
+                }
+                return request.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ArtifactTransferException("Interrupted while waiting for the Maven repositories", e, requested, repositories);
+            } finally {
+                for (int i = 0; i < acquired; i++) {
+                    permits.get(i).release();
+                }
+            }
+        }
+
+        @Override
+        public Set<String> getAllVersions(String groupId, String artifactId, String extension, String classifier) {
+            return withPermits(Collections.singleton(new ArtifactCoordinate(groupId, artifactId, extension, classifier, "")),
+                    () -> wrapped.getAllVersions(groupId, artifactId, extension, classifier));
+        }
+
+        @Override
+        public File resolveArtifact(String groupId, String artifactId, String extension, String classifier, String version) throws ArtifactTransferException {
+            return withPermits(Collections.singleton(new ArtifactCoordinate(groupId, artifactId, extension, classifier, version)),
+                    () -> wrapped.resolveArtifact(groupId, artifactId, extension, classifier, version));
+        }
+
+        @Override
+        public List<File> resolveArtifacts(List<ArtifactCoordinate> coordinates) throws ArtifactTransferException {
+            return withPermits(new HashSet<>(coordinates), () -> wrapped.resolveArtifacts(coordinates));
+        }
+
+        @Override
+        public ArtifactResolutionResult resolveAvailableArtifacts(List<ArtifactCoordinate> coordinates) throws ArtifactTransferException {
+            return withPermits(new HashSet<>(coordinates), () -> wrapped.resolveAvailableArtifacts(coordinates));
+        }
+
+        @Override
+        public List<URL> resolveChannelMetadata(List<? extends ChannelMetadataCoordinate> manifestCoords) throws ArtifactTransferException {
+            final Set<ArtifactCoordinate> requested = manifestCoords.stream()
+                    .filter(c -> c.getUrl() == null)
+                    .map(c -> new ArtifactCoordinate(c.getGroupId(), c.getArtifactId(), c.getExtension(), c.getClassifier(),
+                            c.getVersion() == null ? "" : c.getVersion()))
+                    .collect(Collectors.toSet());
+            return withPermits(requested, () -> wrapped.resolveChannelMetadata(manifestCoords));
+        }
+
+        @Override
+        public String getMetadataReleaseVersion(String groupId, String artifactId) {
+            return withPermits(Collections.singleton(new ArtifactCoordinate(groupId, artifactId, null, null, "")),
+                    () -> wrapped.getMetadataReleaseVersion(groupId, artifactId));
+        }
+
+        @Override
+        public String getMetadataLatestVersion(String groupId, String artifactId) {
+            return withPermits(Collections.singleton(new ArtifactCoordinate(groupId, artifactId, null, null, "")),
+                    () -> wrapped.getMetadataLatestVersion(groupId, artifactId));
+        }
+
+        @Override
+        public void close() {
+            wrapped.close();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel;
+
+import java.util.Set;
+
+/**
+ * Thrown if a bulk resolution is stopped before all the artifacts were resolved, either because its deadline expired
+ * or because its {@link CancellationToken} was cancelled.
+ * <p>
+ * The {@link #getUnresolvedArtifacts() unresolved artifacts} are the requested coordinates that were not resolved
+ * when the resolution was stopped.
+ */
+public class ResolutionCancelledException extends UnresolvedMavenArtifactException {
+
+    private final boolean deadlineExceeded;
+
+    public ResolutionCancelledException(String message, Set<ArtifactCoordinate> unresolvedArtifacts, Set<Repository> attemptedRepositories,
+                                        boolean deadlineExceeded) {
+        super(message, unresolvedArtifacts, attemptedRepositories);
+        this.deadlineExceeded = deadlineExceeded;
+    }
+
+    /**
+     * @return {@code true} if the resolution was stopped because its deadline expired,
+     *         {@code false} if it was cancelled
+     */
+    public boolean isDeadlineExceeded() {
+        return deadlineExceeded;
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.jboss.logging.Logger;
+
+/**
+ * Resolves a list of artifacts, overlapping the resolution of their versions with the download of their files.
+ * <p>
+ * The latest version is looked up once per {@code groupId:artifactId}, as neither the version metadata nor the streams
+ * of the channels depend on the extension or classifier of the artifacts. Each coordinate is queued for download in
+ * the channel providing it as soon as the latest version of its {@code groupId:artifactId} is found.
+ * Once a channel's queue holds {@code batchSize} coordinates, they are downloaded as one batch, while the remaining
+ * versions are still being resolved. The batches of all the channels are downloaded concurrently.
+ * <p>
+ * The artifacts of each batch are passed to the consumer as soon as the batch is downloaded. The consumer is called by
+ * the executor threads, but never concurrently.
+ * <p>
+ * The resolution can be {@link #abort(Function) aborted}, in which case the threads still resolving versions
+ * or downloading artifacts are interrupted.
+ * <p>
+ * An instance can be used to resolve a single list of coordinates.
+ */
+class ResolutionPipeline {
+
+    private static final Logger LOG = Logger.getLogger(ResolutionPipeline.class);
+
+    private final Function<ArtifactCoordinate, ChannelImpl.ResolveLatestVersionResult> versionLookup;
+    private final Executor executor;
+    private final int batchSize;
+    private final Consumer<MavenArtifact> consumer;
+
+    private final CompletableFuture<Void> result = new CompletableFuture<>();
+    // serializes the calls to the consumer, separate from the pipeline lock so that downloads can be queued meanwhile
+    private final Object deliveryLock = new Object();
+    // requested coordinates, paired with the coordinates to download, waiting to be downloaded from their channel
+    private final Map<ChannelImpl, List<Queued>> queues = new HashMap<>();
+    private final List<CompletableFuture<Void>> downloads = new ArrayList<>();
+    // requested coordinates not passed to the consumer yet
+    private final Set<ArtifactCoordinate> pending = ConcurrentHashMap.newKeySet();
+    // threads currently resolving versions or downloading artifacts
+    private final Set<Thread> running = new HashSet<>();
+    private volatile boolean aborted;
+
+    /**
+     * @param versionLookup - finds the latest version of a coordinate and the channel providing it. The result must only
+     *                      depend on the {@code groupId} and {@code artifactId} of the coordinate
+     * @param executor - executor used to run the version lookups and the downloads
+     * @param batchSize - maximum number of artifacts downloaded from a channel in a single request
+     * @param consumer - receives the resolved artifacts
+     */
+    ResolutionPipeline(Function<ArtifactCoordinate, ChannelImpl.ResolveLatestVersionResult> versionLookup, Executor executor, int batchSize,
+                       Consumer<MavenArtifact> consumer) {
+        this.versionLookup = versionLookup;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.consumer = consumer;
+    }
+
+    /**
+     * Starts resolving the {@code coordinates}.
+     * <p>
+     * If any of the versions cannot be found or any of the artifacts cannot be downloaded, the returned future
+     * completes exceptionally with the first encountered exception, no further downloads are started and no further
+     * artifacts are passed to the consumer. If a batch cannot be downloaded, its {@link ArtifactTransferException} also
+     * reports the coordinates not passed to the consumer yet as unresolved. If the consumer throws an exception, the
+     * resolution fails with it.
+     *
+     * @param coordinates - artifacts to resolve
+     * @return future completed once all the resolved artifacts were passed to the consumer.
+     *         The order of the artifacts is not guaranteed.
+     */
+    CompletableFuture<Void> resolve(List<ArtifactCoordinate> coordinates) {
+        final long start = System.currentTimeMillis();
+        pending.addAll(coordinates);
+
+        // the jar, pom, sources... of an artifact share the same version, look it up with the first of them
+        final Map<Pair<String, String>, List<ArtifactCoordinate>> byGa = new LinkedHashMap<>();
+        for (ArtifactCoordinate coord : coordinates) {
+            byGa.computeIfAbsent(Pair.of(coord.getGroupId(), coord.getArtifactId()), ga -> new ArrayList<>()).add(coord);
+        }
+
+        final CompletableFuture<?>[] lookups = byGa.values().stream()
+                .map(group -> CompletableFuture.supplyAsync(() -> track(() -> versionLookup.apply(group.get(0))), executor)
+                        .thenAccept(found -> group.forEach(coord -> enqueue(coord, found)))
+                        .whenComplete((ignored, failure) -> failOn(failure)))
+                .toArray(CompletableFuture[]::new);
+
+        CompletableFuture.allOf(lookups).thenRun(() -> {
+            LOG.debugf("Resolving artifact versions took %.2f seconds", (System.currentTimeMillis() - start) / 1000f);
+
+            final CompletableFuture<?>[] allDownloads;
+            synchronized (this) {
+                queues.forEach(this::download);
+                queues.clear();
+                allDownloads = downloads.toArray(new CompletableFuture[0]);
+            }
+            CompletableFuture.allOf(allDownloads).thenRun(() -> {
+                if (!aborted) {
+                    result.complete(null);
+                }
+            });
+        });
+
+        return result;
+    }
+
+    /**
+     * Stops the resolution. The future returned by {@link #resolve(List)} completes exceptionally with the exception
+     * created by {@code failure} and the threads still working on the resolution are interrupted.
+     * Has no effect if the resolution is already completed.
+     *
+     * @param failure - creates the exception from the coordinates that were not passed to the consumer
+     */
+    void abort(Function<Set<ArtifactCoordinate>, ? extends RuntimeException> failure) {
+        synchronized (deliveryLock) {
+            if (aborted || result.isDone()) {
+                return;
+            }
+            // no artifact is passed to the consumer from now on, and the failures of the interrupted threads are ignored
+            aborted = true;
+        }
+        synchronized (running) {
+            running.forEach(Thread::interrupt);
+        }
+
+        Throwable exception;
+        try {
+            synchronized (deliveryLock) {
+                exception = failure.apply(new HashSet<>(pending));
+            }
+        } catch (RuntimeException | Error e) {
+            exception = e;
+        }
+        result.completeExceptionally(exception);
+    }
+
+    private <T> T track(Supplier<T> task) {
+        final Thread thread = Thread.currentThread();
+        synchronized (running) {
+            if (aborted || result.isDone()) {
+                // the resolution already completed, there is no point starting new work
+                throw new CancellationException();
+            }
+            running.add(thread);
+        }
+        try {
+            return task.get();
+        } finally {
+            synchronized (running) {
+                running.remove(thread);
+            }
+            if (aborted) {
+                // the thread might have been interrupted by abort(), don't leak the interruption to the next task of the executor
+                Thread.interrupted();
+            }
+        }
+    }
+
+    private synchronized void enqueue(ArtifactCoordinate coord, ChannelImpl.ResolveLatestVersionResult found) {
+        final ArtifactCoordinate query = new ArtifactCoordinate(coord.getGroupId(), coord.getArtifactId(), coord.getExtension(),
+                coord.getClassifier(), found.version);
+        final List<Queued> queue = queues.computeIfAbsent(found.channel, c -> new ArrayList<>());
+        queue.add(new Queued(coord, query));
+        if (queue.size() >= batchSize) {
+            queues.remove(found.channel);
+            download(found.channel, queue);
+        }
+    }
+
+    // must be called while holding the lock
+    private void download(ChannelImpl channel, List<Queued> batch) {
+        if (aborted || result.isDone()) {
+            // the resolution already failed, there is no point downloading more artifacts
+            return;
+        }
+        downloads.add(CompletableFuture.runAsync(() -> {
+            final List<ArtifactCoordinate> queries = new ArrayList<>(batch.size());
+            for (Queued queued : batch) {
+                queries.add(queued.query);
+            }
+            final List<ChannelImpl.ResolveArtifactResult> files;
+            try {
+                files = track(() -> channel.resolveArtifacts(queries));
+            } catch (ArtifactTransferException e) {
+                failBatch(batch, e);
+                return;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                final ArtifactCoordinate request = queries.get(i);
+                final MavenArtifact artifact = new MavenArtifact(request.getGroupId(), request.getArtifactId(),
+                        request.getExtension(), request.getClassifier(), request.getVersion(),
+                        files.get(i).file,
+                        files.get(i).channel.getResolvedChannelDefinition().getName());
+                if (!deliver(batch.get(i).requested, artifact)) {
+                    return;
+                }
+            }
+        }, executor).whenComplete((ignored, failure) -> failOn(failure)));
+    }
+
+    /**
+     * @return {@code false} if the resolution already completed and the artifact was not passed to the consumer
+     */
+    private boolean deliver(ArtifactCoordinate requested, MavenArtifact artifact) {
+        synchronized (deliveryLock) {
+            if (aborted || result.isDone()) {
+                return false;
+            }
+            consumer.accept(artifact);
+            pending.remove(requested);
+            return true;
+        }
+    }
+
+    /**
+     * Fails the resolution with the {@code failure} of a batch download. Besides the artifacts of the batch, the
+     * requested coordinates that were not passed to the consumer yet are reported as unresolved, as they will not be.
+     */
+    private void failBatch(List<Queued> batch, ArtifactTransferException failure) {
+        synchronized (deliveryLock) {
+            if (aborted || result.isDone()) {
+                return;
+            }
+            final Set<ArtifactCoordinate> remaining = new HashSet<>(pending);
+            for (Queued queued : batch) {
+                // reported by the failure with the version it was downloaded with
+                if (failure.getUnresolvedArtifacts().contains(queued.query)) {
+                    remaining.remove(queued.requested);
+                }
+            }
+            final Set<ArtifactCoordinate> unresolved = new HashSet<>(failure.getUnresolvedArtifacts());
+            unresolved.addAll(remaining);
+            final ArtifactTransferException exception = new ArtifactTransferException(failure.getMessage(), unresolved,
+                    failure.getAttemptedRepositories());
+            exception.initCause(failure);
+            result.completeExceptionally(exception);
+        }
+    }
+
+    private void failOn(Throwable failure) {
+        // once aborted, the resolution fails with the exception of the abort
+        if (failure != null && !aborted) {
+            result.completeExceptionally(failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure);
+        }
+    }
+
+    private static class Queued {
+        private final ArtifactCoordinate requested;
+        private final ArtifactCoordinate query;
+
+        private Queued(ArtifactCoordinate requested, ArtifactCoordinate query) {
+            this.requested = requested;
+            this.query = query;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The versions and channels used to resolve a list of artifacts, computed by {@link ChannelSession#plan(List)}
+ * without downloading the artifacts.
+ * <p>
+ * A plan is immutable and can be serialized, so that it can be computed by one process and executed by
+ * {@link ChannelSession#resolvePlan(ResolutionPlan)} in another. The entries of two plans can be compared with
+ * {@link #changedSince(ResolutionPlan)} to find the artifacts whose resolution changed between them.
+ */
+public class ResolutionPlan implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<Entry> entries;
+
+    ResolutionPlan(List<Entry> entries) {
+        this.entries = Collections.unmodifiableList(new ArrayList<>(entries));
+    }
+
+    /**
+     * @return the entries of the plan, in the order the artifacts were requested
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Find the entries of this plan that are not part of the {@code previous} plan, either because the artifact was not
+     * requested by the {@code previous} plan, or because it is resolved with a different version or from a different channel.
+     *
+     * @param previous - required. Plan to compare with
+     * @return a plan containing only the changed entries, in the order of this plan
+     */
+    public ResolutionPlan changedSince(ResolutionPlan previous) {
+        requireNonNull(previous);
+
+        final Set<Entry> previousEntries = new HashSet<>(previous.entries);
+        final List<Entry> changed = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (!previousEntries.contains(entry)) {
+                changed.add(entry);
+            }
+        }
+        return new ResolutionPlan(changed);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ResolutionPlan that = (ResolutionPlan) o;
+        return Objects.equals(entries, that.entries);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(entries);
+    }
+
+    @Override
+    public String toString() {
+        return "ResolutionPlan{" +
+                "entries=" + entries +
+                '}';
+    }
+
+    /**
+     * The version of a requested artifact and the channel providing it.
+     */
+    public static class Entry implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String groupId;
+        private final String artifactId;
+        private final String extension;
+        private final String classifier;
+        private final String requestedVersion;
+        private final String version;
+        private final String channelName;
+        private final List<Repository> repositories;
+
+        Entry(ArtifactCoordinate requested, String version, String channelName, List<Repository> repositories) {
+            requireNonNull(requested);
+            requireNonNull(version);
+            requireNonNull(repositories);
+
+            this.groupId = requested.getGroupId();
+            this.artifactId = requested.getArtifactId();
+            this.extension = requested.getExtension();
+            this.classifier = requested.getClassifier();
+            this.requestedVersion = requested.getVersion();
+            this.version = version;
+            this.channelName = channelName;
+            this.repositories = Collections.unmodifiableList(new ArrayList<>(repositories));
+        }
+
+        /**
+         * @return the coordinate of the artifact, as it was requested
+         */
+        public ArtifactCoordinate getRequestedCoordinate() {
+            return new ArtifactCoordinate(groupId, artifactId, extension, classifier, requestedVersion);
+        }
+
+        /**
+         * @return the coordinate of the artifact, with the version determined by the channels
+         */
+        public ArtifactCoordinate getCoordinate() {
+            return new ArtifactCoordinate(groupId, artifactId, extension, classifier, version);
+        }
+
+        /**
+         * @return the version of the artifact determined by the channels
+         */
+        public String getVersion() {
+            return version;
+        }
+
+        /**
+         * @return {@code Optional} with the name of the channel providing the version, or an empty Optional if the channel is not named
+         */
+        public Optional<String> getChannelName() {
+            return Optional.ofNullable(channelName);
+        }
+
+        /**
+         * @return the repositories of the channel providing the version, the artifact is downloaded from one of them
+         */
+        public List<Repository> getRepositories() {
+            return repositories;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Entry entry = (Entry) o;
+            return Objects.equals(groupId, entry.groupId) && Objects.equals(artifactId, entry.artifactId)
+                    && Objects.equals(extension, entry.extension) && Objects.equals(classifier, entry.classifier)
+                    && Objects.equals(requestedVersion, entry.requestedVersion) && Objects.equals(version, entry.version)
+                    && Objects.equals(channelName, entry.channelName) && Objects.equals(repositories, entry.repositories);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(groupId, artifactId, extension, classifier, requestedVersion, version, channelName, repositories);
+        }
+
+        @Override
+        public String toString() {
+            return "Entry{" +
+                    "groupId='" + groupId + '\'' +
+                    ", artifactId='" + artifactId + '\'' +
+                    ", extension='" + extension + '\'' +
+                    ", classifier='" + classifier + '\'' +
+                    ", requestedVersion='" + requestedVersion + '\'' +
+                    ", version='" + version + '\'' +
+                    ", channelName='" + channelName + '\'' +
+                    ", repositories=" + repositories +
+                    '}';
+        }
+    }
+}
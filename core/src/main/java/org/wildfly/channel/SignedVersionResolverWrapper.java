@@ -33,6 +33,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.wildfly.channel.spi.ArtifactIdentifier;
+import org.wildfly.channel.spi.ArtifactResolutionResult;
 import org.wildfly.channel.spi.MavenVersionsResolver;
 import org.wildfly.channel.spi.SignatureResult;
 import org.wildfly.channel.spi.SignatureValidator;
@@ -106,6 +107,24 @@ public class SignedVersionResolverWrapper implements MavenVersionsResolver {
     public List<File> resolveArtifacts(List<ArtifactCoordinate> coordinates) throws ArtifactTransferException {
         final List<File> resolvedArtifacts = wrapped.resolveArtifacts(coordinates);
 
+        validateGpgSignatures(coordinates, resolvedArtifacts);
+
+        return resolvedArtifacts;
+    }
+
+    @Override
+    public ArtifactResolutionResult resolveAvailableArtifacts(List<ArtifactCoordinate> coordinates) throws ArtifactTransferException {
+        final ArtifactResolutionResult result = wrapped.resolveAvailableArtifacts(coordinates);
+
+        // only the resolved artifacts need to be verified, the unresolved ones can be looked up somewhere else
+        if (!result.getResolved().isEmpty()) {
+            validateGpgSignatures(new ArrayList<>(result.getResolved().keySet()), new ArrayList<>(result.getResolved().values()));
+        }
+
+        return result;
+    }
+
+    private void validateGpgSignatures(List<ArtifactCoordinate> coordinates, List<File> resolvedArtifacts) {
         try {
             final List<File> signatures = wrapped.resolveArtifacts(coordinates.stream()
                     .map(c->new ArtifactCoordinate(c.getGroupId(), c.getArtifactId(), c.getExtension() + SIGNATURE_FILE_SUFFIX,
@@ -135,9 +154,6 @@ public class SignedVersionResolverWrapper implements MavenVersionsResolver {
                     artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion()),
                     SignatureResult.noSignature(artifact));
         }
-
-
-        return resolvedArtifacts;
     }
 
     @Override
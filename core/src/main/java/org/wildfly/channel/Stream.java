@@ -17,8 +17,6 @@
 package org.wildfly.channel;
 
 import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
-import static java.util.Objects.requireNonNull;
-
 import java.util.Objects;
 import java.util.regex.Pattern;
 
@@ -29,6 +27,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import org.wildfly.channel.version.FixedVersionMatcher;
 import org.wildfly.channel.version.VersionMatcher;
 import org.wildfly.channel.version.VersionPatternMatcher;
+import org.wildfly.channel.version.VersionRangeMatcher;
 
 /**
  * Java representation of a Stream.
@@ -49,7 +48,7 @@ public class Stream implements Comparable<Stream> {
      * Version of the stream.
      * This must be a single version (e.g. "1.0.0.Final").
      *
-     * Only one of {@code version}, {@code versionPattern} must be set.
+     * Only one of {@code version}, {@code versionPattern}, {@code versionRange} must be set.
      */
     private final String version;
 
@@ -57,11 +56,29 @@ public class Stream implements Comparable<Stream> {
      * VersionPattern of the stream.
      * This is a regular expression that matches any version from this stream (e.g. "2\.2\..*").
      *
-     * Only one of {@code version}, {@code versionPattern} must be set.
+     * Only one of {@code version}, {@code versionPattern}, {@code versionRange} must be set.
      */
     private final Pattern versionPattern;
 
-    private VersionMatcher versionMatcher;
+    /**
+     * Matcher of the {@code versionPattern}, shared with the other streams using the same pattern.
+     * {@code null} if the stream has a fixed {@code version}.
+     */
+    private final VersionPatternMatcher versionPatternMatcher;
+
+    /**
+     * Matcher of the VersionRange of the stream.
+     * This is a Maven version range that contains any version from this stream (e.g. "[2.15,2.17)").
+     *
+     * Only one of {@code version}, {@code versionPattern}, {@code versionRange} must be set.
+     */
+    private final VersionRangeMatcher versionRangeMatcher;
+
+    /**
+     * Matcher of the fixed {@code version} of the stream.
+     * {@code null} if the stream has a {@code versionPattern} or a {@code versionRange}.
+     */
+    private final FixedVersionMatcher fixedVersionMatcher;
 
     /**
      * @see #Stream(String, String, String, Pattern)
@@ -81,6 +98,16 @@ public class Stream implements Comparable<Stream> {
         this(groupId, artifactId, null, versionPattern);
     }
 
+    /**
+     * @see #Stream(String, String, String, Pattern, String)
+     */
+    public Stream(String groupId,
+                  String artifactId,
+                  String version,
+                  Pattern versionPattern) {
+        this(groupId, artifactId, version, versionPattern, null);
+    }
+
     /**
      * Representation of a stream resource
      *
@@ -88,42 +115,48 @@ public class Stream implements Comparable<Stream> {
      * @param artifactId artifactId of the Maven coordinate - required
      * @param version version of the Maven coordinate - can be {@code null}
      * @param versionPattern version patter to determine the latest version of the resource - can be {@code null}
+     * @param versionRange version range to determine the latest version of the resource - can be {@code null}
      *
-     * Either {@code version} or {@code versionPattern} must be defined.
+     * Exactly one of {@code version}, {@code versionPattern} or {@code versionRange} must be defined.
+     * @throws IllegalArgumentException if the {@code versionRange} is not a valid Maven version range
      */
     @JsonCreator
     public Stream(@JsonProperty(value = "groupId", required = true) String groupId,
            @JsonProperty(value = "artifactId", required = true) String artifactId,
            @JsonProperty("version") String version,
-           @JsonProperty("versionPattern") Pattern versionPattern) {
-        this.groupId = groupId;
-        this.artifactId = artifactId;
-        this.version = version;
-        this.versionPattern = versionPattern;
-        validate();
-        initVersionMatcher();
-    }
-
-    private void initVersionMatcher() {
-        if (version != null) {
-            versionMatcher = new FixedVersionMatcher(version);
+           @JsonProperty("versionPattern") Pattern versionPattern,
+           @JsonProperty("versionRange") String versionRange) {
+        validate(groupId, version, versionPattern, versionRange);
+        // large manifests repeat the same groupIds, and the manifests of consecutive versions of a channel mostly
+        // define the same streams: keep a single copy of the identifiers
+        this.groupId = intern(groupId);
+        this.artifactId = intern(artifactId);
+        this.version = intern(version);
+        if (versionPattern != null) {
+            this.versionPatternMatcher = VersionPatternMatcher.of(versionPattern);
+            this.versionPattern = versionPatternMatcher.getPattern();
         } else {
-            requireNonNull(versionPattern);
-            // let's instead find a version matching the pattern
-            versionMatcher = new VersionPatternMatcher(versionPattern);
+            this.versionPatternMatcher = null;
+            this.versionPattern = null;
         }
+        this.versionRangeMatcher = versionRange == null ? null : new VersionRangeMatcher(versionRange);
+        this.fixedVersionMatcher = version == null ? null : new FixedVersionMatcher(this.version);
+    }
+
+    private static String intern(String value) {
+        return value == null ? null : value.intern();
     }
 
-    private void validate() {
+    private static void validate(String groupId, String version, Pattern versionPattern, String versionRange) {
         if ("*".equals(groupId)) {
             throw new IllegalArgumentException(
                     String.format("Invalid stream. the groupId does not accept wildcard '*'"));
         }
 
-        if ((version != null && versionPattern != null) ||
-                (version == null && versionPattern == null )) {
+        final int defined = (version != null ? 1 : 0) + (versionPattern != null ? 1 : 0) + (versionRange != null ? 1 : 0);
+        if (defined != 1) {
             throw new IllegalArgumentException(
-                    String.format("Invalid stream. Only one of version, versionPattern field must be set"));
+                    String.format("Invalid stream. Only one of version, versionPattern, versionRange field must be set"));
         }
     }
 
@@ -145,9 +178,20 @@ public class Stream implements Comparable<Stream> {
         return versionPattern;
     }
 
+    @JsonInclude(NON_NULL)
+    public String getVersionRange() {
+        return versionRangeMatcher == null ? null : versionRangeMatcher.getRange();
+    }
+
     @JsonIgnore
     public VersionMatcher getVersionComparator() {
-        return versionMatcher;
+        if (versionPatternMatcher != null) {
+            return versionPatternMatcher;
+        }
+        if (versionRangeMatcher != null) {
+            return versionRangeMatcher;
+        }
+        return fixedVersionMatcher;
     }
 
     @Override
@@ -157,12 +201,12 @@ public class Stream implements Comparable<Stream> {
                 ", artifactId='" + artifactId + '\'' +
                 ", version='" + version + '\'' +
                 ", versionPattern=" + versionPattern +
-                ", versionComparator=" + versionMatcher +
+                ", versionRange=" + getVersionRange() +
                 '}';
     }
 
     /*
-     * Sort streams by groupId, artifactId and finally version or versionPattern.
+     * Sort streams by groupId, artifactId and finally version, versionPattern or versionRange.
      */
     @Override
     public int compareTo(Stream other) {
@@ -180,6 +224,9 @@ public class Stream implements Comparable<Stream> {
         if (this.versionPattern != null && other.getVersionPattern() != null) {
             return versionPattern.pattern().compareTo(other.getVersionPattern().pattern());
         }
+        if (this.versionRangeMatcher != null && other.getVersionRange() != null) {
+            return getVersionRange().compareTo(other.getVersionRange());
+        }
         return 0;
     }
 
@@ -190,11 +237,11 @@ public class Stream implements Comparable<Stream> {
         if (o == null || getClass() != o.getClass())
             return false;
         Stream stream = (Stream) o;
-        return groupId.equals(stream.groupId) && artifactId.equals(stream.artifactId) && version.equals(stream.version) && Objects.equals(versionPattern, stream.versionPattern);
+        return groupId.equals(stream.groupId) && artifactId.equals(stream.artifactId) && Objects.equals(version, stream.version) && Objects.equals(versionPattern, stream.versionPattern) && Objects.equals(getVersionRange(), stream.getVersionRange());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(groupId, artifactId, version, versionPattern);
+        return Objects.hash(groupId, artifactId, version, versionPattern, getVersionRange());
     }
 }
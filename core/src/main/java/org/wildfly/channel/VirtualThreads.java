@@ -0,0 +1,46 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Creates executors running each task in its own virtual thread.
+ * <p>
+ * Virtual threads require Java 21. This implementation is used on older runtimes, the Java 21 implementation
+ * is packaged in the {@code META-INF/versions/21} directory of the multi-release jar.
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return {@code true} if the current runtime supports virtual threads
+     */
+    static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * @return an executor starting a new virtual thread for each task
+     * @throws UnsupportedOperationException if the current runtime doesn't support virtual threads
+     */
+    static ExecutorService newExecutor() {
+        throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+    }
+}
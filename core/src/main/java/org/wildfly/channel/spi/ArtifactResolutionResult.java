@@ -0,0 +1,71 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel.spi;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.wildfly.channel.ArtifactCoordinate;
+
+/**
+ * Result of {@link MavenVersionsResolver#resolveAvailableArtifacts(java.util.List)}: the files of the artifacts that
+ * were resolved and the coordinates of the artifacts that could not be resolved.
+ */
+public class ArtifactResolutionResult {
+
+    private final Map<ArtifactCoordinate, File> resolved;
+    private final Set<ArtifactCoordinate> unresolved;
+
+    /**
+     * @param resolved - files of the resolved artifacts, keyed by their coordinates
+     * @param unresolved - coordinates of the artifacts that could not be resolved
+     */
+    public ArtifactResolutionResult(Map<ArtifactCoordinate, File> resolved, Set<ArtifactCoordinate> unresolved) {
+        Objects.requireNonNull(resolved);
+        Objects.requireNonNull(unresolved);
+
+        this.resolved = Collections.unmodifiableMap(new LinkedHashMap<>(resolved));
+        this.unresolved = Collections.unmodifiableSet(new LinkedHashSet<>(unresolved));
+    }
+
+    /**
+     * @return the files of the resolved artifacts, in the order the artifacts were requested
+     */
+    public Map<ArtifactCoordinate, File> getResolved() {
+        return resolved;
+    }
+
+    /**
+     * @return the coordinates of the artifacts that could not be resolved
+     */
+    public Set<ArtifactCoordinate> getUnresolved() {
+        return unresolved;
+    }
+
+    @Override
+    public String toString() {
+        return "ArtifactResolutionResult{" +
+                "resolved=" + resolved +
+                ", unresolved=" + unresolved +
+                '}';
+    }
+}
@@ -19,7 +19,11 @@ package org.wildfly.channel.spi;
 import java.io.Closeable;
 import java.io.File;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.wildfly.channel.ArtifactCoordinate;
@@ -74,6 +78,49 @@ public interface MavenVersionsResolver extends Closeable {
     */
    List<File> resolveArtifacts(List<ArtifactCoordinate> coordinates) throws ArtifactTransferException;
 
+   /**
+    * Resolve a list of maven artifacts based on the full coordinates, without failing if some of them cannot be resolved.
+    *
+    * Unlike {@link #resolveArtifacts(List)}, the artifacts that can be resolved are returned together with
+    * the coordinates of the artifacts that cannot be resolved, so that they can be looked up somewhere else without
+    * resolving the available artifacts again.
+    *
+    * The default implementation calls {@link #resolveArtifacts(List)} and, if some artifacts cannot be resolved,
+    * calls it again with the remaining coordinates. Implementations should override it to resolve the artifacts only once.
+    *
+    * @param coordinates - list of ArtifactCoordinates. They need contain at least groupId, artifactId and version.
+    *
+    * @return the files of the resolved artifacts and the coordinates of the unresolved artifacts.
+    *
+    * @throws ArtifactTransferException if the resolution fails for other reasons than artifacts not being available.
+    */
+   default ArtifactResolutionResult resolveAvailableArtifacts(List<ArtifactCoordinate> coordinates) throws ArtifactTransferException {
+      final List<ArtifactCoordinate> query = new ArrayList<>(coordinates);
+      final Set<ArtifactCoordinate> unresolved = new LinkedHashSet<>();
+      while (!query.isEmpty()) {
+         try {
+            final List<File> files = resolveArtifacts(query);
+            final Map<ArtifactCoordinate, File> resolved = new LinkedHashMap<>();
+            for (int i = 0; i < query.size(); i++) {
+               resolved.put(query.get(i), files.get(i));
+            }
+            return new ArtifactResolutionResult(resolved, unresolved);
+         } catch (UnresolvedMavenArtifactException e) {
+            final Set<ArtifactCoordinate> failed = e.getUnresolvedArtifacts();
+            if (!query.removeIf(failed::contains)) {
+               // the failed artifacts are not identified, there is no way to resolve the other ones
+               throw e;
+            }
+            for (ArtifactCoordinate coordinate : coordinates) {
+               if (failed.contains(coordinate)) {
+                  unresolved.add(coordinate);
+               }
+            }
+         }
+      }
+      return new ArtifactResolutionResult(Map.of(), unresolved);
+   }
+
    /**
     * Resolve a list of channel metadata artifacts based on the coordinates.
     * If the {@code ChannelMetadataCoordinate} contains non-null URL, that URL is returned.
@@ -20,6 +20,7 @@ import static java.util.Objects.requireNonNull;
 
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Predicate;
 
 public class FixedVersionMatcher implements VersionMatcher {
 
@@ -38,4 +39,10 @@ public class FixedVersionMatcher implements VersionMatcher {
         }
         return Optional.empty();
     }
+
+    @Override
+    public Optional<String> matches(Set<String> samples, Predicate<String> filter) {
+        requireNonNull(filter);
+        return matches(samples).filter(filter);
+    }
 }
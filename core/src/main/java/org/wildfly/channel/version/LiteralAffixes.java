@@ -0,0 +1,244 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel.version;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Literal prefix and suffix that every version matched by a version pattern must have.
+ * <p>
+ * Most version patterns start with the literal part of the version (for example {@code 5\.0\.1\..*}) or end with its
+ * qualifier (for example {@code 2\.16\..*Final}). Checking the affixes with {@link String#startsWith(String)} and
+ * {@link String#endsWith(String)} rejects most versions without running the regex engine. The affixes are only a
+ * necessary condition, the versions having them must still be matched against the pattern.
+ * <p>
+ * The analysis is conservative: the patterns with flags, embedded flags, alternations or escape sequences that are not
+ * understood have no affixes.
+ */
+final class LiteralAffixes {
+
+    static final LiteralAffixes NONE = new LiteralAffixes("", "");
+
+    // escape sequences of a single character class, any other escaped letter or digit stops the analysis
+    private static final String CHARACTER_CLASS_ESCAPES = "dDwWsShHvVbB";
+    private static final String FLAGS = "idmsuxU-";
+
+    private final String prefix;
+    private final String suffix;
+
+    private LiteralAffixes(String prefix, String suffix) {
+        this.prefix = prefix;
+        this.suffix = suffix;
+    }
+
+    static LiteralAffixes of(Pattern pattern) {
+        if (pattern.flags() != 0) {
+            return NONE;
+        }
+        final List<String> tokens = tokenize(pattern.pattern());
+        if (tokens == null) {
+            return NONE;
+        }
+
+        final StringBuilder prefix = new StringBuilder();
+        for (int i = 0; i < tokens.size() && tokens.get(i) != null; i++) {
+            prefix.append(tokens.get(i));
+        }
+        final StringBuilder suffix = new StringBuilder();
+        for (int i = tokens.size() - 1; i >= 0 && tokens.get(i) != null; i--) {
+            suffix.insert(0, tokens.get(i));
+        }
+        if (prefix.length() == 0 && suffix.length() == 0) {
+            return NONE;
+        }
+        return new LiteralAffixes(prefix.toString(), suffix.toString());
+    }
+
+    String getPrefix() {
+        return prefix;
+    }
+
+    String getSuffix() {
+        return suffix;
+    }
+
+    /**
+     * @return {@code false} if the {@code version} cannot match the pattern
+     */
+    boolean mayMatch(String version) {
+        return version.startsWith(prefix) && version.endsWith(suffix);
+    }
+
+    /**
+     * Split the {@code regex} into the literal code points it must match, and {@code null} for any other construct.
+     *
+     * @return the tokens of the {@code regex}, or {@code null} if it cannot be analysed
+     */
+    private static List<String> tokenize(String regex) {
+        final List<String> tokens = new ArrayList<>();
+        final int length = regex.length();
+        int i = 0;
+        if (i < length && regex.charAt(i) == '^') {
+            i++;
+        }
+        while (i < length) {
+            final int c = regex.codePointAt(i);
+            switch (c) {
+                case '\\':
+                    if (i + 1 >= length) {
+                        return null;
+                    }
+                    final int escaped = regex.codePointAt(i + 1);
+                    if (Character.isLetterOrDigit(escaped)) {
+                        if (CHARACTER_CLASS_ESCAPES.indexOf(escaped) < 0) {
+                            // \Q, \p{...}, \x..., back references...
+                            return null;
+                        }
+                        tokens.add(null);
+                    } else {
+                        tokens.add(new String(Character.toChars(escaped)));
+                    }
+                    i += 1 + Character.charCount(escaped);
+                    break;
+                case '[':
+                    i = skipCharacterClass(regex, i);
+                    if (i < 0) {
+                        return null;
+                    }
+                    tokens.add(null);
+                    break;
+                case '(':
+                    if (regex.startsWith("(?", i) && i + 2 < length && FLAGS.indexOf(regex.charAt(i + 2)) >= 0) {
+                        // the flags change how the rest of the pattern matches
+                        return null;
+                    }
+                    i = skipGroup(regex, i);
+                    if (i < 0) {
+                        return null;
+                    }
+                    tokens.add(null);
+                    break;
+                case '|':
+                    return null;
+                case '?':
+                case '*':
+                case '+':
+                case '{':
+                    if (tokens.isEmpty()) {
+                        return null;
+                    }
+                    // the quantified token is not required
+                    tokens.set(tokens.size() - 1, null);
+                    if (c == '{') {
+                        i = regex.indexOf('}', i);
+                        if (i < 0) {
+                            return null;
+                        }
+                    }
+                    i++;
+                    // lazy or possessive quantifier
+                    if (i < length && (regex.charAt(i) == '?' || regex.charAt(i) == '+')) {
+                        i++;
+                    }
+                    break;
+                case '$':
+                    if (i == length - 1) {
+                        i++;
+                        break;
+                    }
+                    // fall through
+                case '^':
+                case '.':
+                    tokens.add(null);
+                    i++;
+                    break;
+                default:
+                    tokens.add(new String(Character.toChars(c)));
+                    i += Character.charCount(c);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * @return the index following the character class starting at {@code start}, or {@code -1} if it is not closed
+     */
+    private static int skipCharacterClass(String regex, int start) {
+        int i = start + 1;
+        if (i < regex.length() && regex.charAt(i) == '^') {
+            i++;
+        }
+        if (i < regex.length() && regex.charAt(i) == ']') {
+            // a leading ] is a literal
+            i++;
+        }
+        int depth = 1;
+        while (i < regex.length()) {
+            final char c = regex.charAt(i);
+            if (c == '\\') {
+                if (regex.startsWith("\\Q", i)) {
+                    // the quoted section can contain any character
+                    return -1;
+                }
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                depth++;
+            } else if (c == ']' && --depth == 0) {
+                return i + 1;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /**
+     * @return the index following the group starting at {@code start}, or {@code -1} if it is not closed
+     */
+    private static int skipGroup(String regex, int start) {
+        int i = start + 1;
+        int depth = 1;
+        while (i < regex.length()) {
+            final char c = regex.charAt(i);
+            if (c == '\\') {
+                if (regex.startsWith("\\Q", i)) {
+                    // the quoted section can contain any character
+                    return -1;
+                }
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                i = skipCharacterClass(regex, i);
+                if (i < 0) {
+                    return -1;
+                }
+                continue;
+            }
+            if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i + 1;
+            }
+            i++;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel.version;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A version parsed once to be compared with other versions without allocating.
+ * <p>
+ * The versions are ordered as {@link VersionMatcher#COMPARATOR} orders their strings. The version is split into
+ * tokens when it is parsed: the epoch, the numeric segments with their values, and each other character.
+ * Comparing two versions then only walks their tokens, where the {@code COMPARATOR} extracts and parses the numeric
+ * segments on every comparison.
+ */
+public final class Version implements Comparable<Version> {
+
+    private final String version;
+    private final int epoch;
+    // start of each token in the version, followed by the length of the version
+    private final int[] positions;
+    // value of each numeric token, or -1 - c for a token made of the character c
+    private final long[] tokens;
+    // the COMPARATOR fails to compare the version, compare its string to get the same failure
+    private final boolean irregular;
+
+    private Version(String version, int epoch, int[] positions, long[] tokens, boolean irregular) {
+        this.version = version;
+        this.epoch = epoch;
+        this.positions = positions;
+        this.tokens = tokens;
+        this.irregular = irregular;
+    }
+
+    public static Version parse(String version) {
+        requireNonNull(version);
+
+        int start = 0;
+        int epoch = 0;
+        final int colon = version.indexOf(':');
+        if (colon != -1) {
+            try {
+                epoch = Integer.parseInt(version.substring(0, colon));
+            } catch (NumberFormatException e) {
+                return new Version(version, 0, null, null, true);
+            }
+            // as in the COMPARATOR, the colon is compared with the rest of the version
+            start = colon;
+        }
+
+        final int length = version.length();
+        int count = 0;
+        for (int i = start; i < length; i++) {
+            if (!Character.isDigit(version.charAt(i)) || i + 1 == length || !Character.isDigit(version.charAt(i + 1))) {
+                count++;
+            }
+        }
+
+        final int[] positions = new int[count + 1];
+        final long[] tokens = new long[count];
+        int token = 0;
+        int i = start;
+        while (i < length) {
+            positions[token] = i;
+            final char c = version.charAt(i);
+            if (Character.isDigit(c)) {
+                long value = 0;
+                for (; i < length && Character.isDigit(version.charAt(i)); i++) {
+                    try {
+                        value = Math.addExact(Math.multiplyExact(value, 10), Character.digit(version.charAt(i), 10));
+                    } catch (ArithmeticException e) {
+                        return new Version(version, epoch, null, null, true);
+                    }
+                }
+                tokens[token] = value;
+            } else {
+                tokens[token] = -1 - c;
+                i++;
+            }
+            token++;
+        }
+        positions[token] = length;
+        return new Version(version, epoch, positions, tokens, false);
+    }
+
+    /**
+     * @return {@code false} if the {@link VersionMatcher#COMPARATOR} fails to compare this version
+     */
+    boolean isComparable() {
+        return !irregular;
+    }
+
+    /**
+     * Same as {@code VersionMatcher.COMPARATOR.compare(this.toString(), other.toString())}.
+     */
+    @Override
+    public int compareTo(Version other) {
+        if (irregular || other.irregular) {
+            return VersionMatcher.COMPARATOR.compare(version, other.version);
+        }
+        if (epoch != other.epoch) {
+            return epoch - other.epoch;
+        }
+
+        int t1 = 0, t2 = 0;
+        final int count1 = tokens.length, count2 = other.tokens.length;
+        while (t1 < count1 && t2 < count2) {
+            final long token1 = tokens[t1];
+            final long token2 = other.tokens[t2];
+            if (token1 >= 0 || token2 >= 0) {
+                // a numeric segment on either side, a missing segment counts as 0 and does not move forward
+                final long n1 = token1 >= 0 ? token1 : 0;
+                final long n2 = token2 >= 0 ? token2 : 0;
+                if (n1 != n2) {
+                    return (int) (n1 - n2);
+                }
+                if (token1 >= 0) {
+                    t1++;
+                }
+                if (token2 >= 0) {
+                    t2++;
+                }
+                // the COMPARATOR compares the positions reached in both versions
+                final int end1 = positions[t1];
+                final int end2 = other.positions[t2];
+                if (end1 != end2) {
+                    return end2 - end1;
+                }
+            } else if (token1 == token2) {
+                t1++;
+                t2++;
+            } else {
+                return (int) (-1 - token1) - (int) (-1 - token2);
+            }
+        }
+        return version.length() - other.version.length();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return version.equals(((Version) o).version);
+    }
+
+    @Override
+    public int hashCode() {
+        return version.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return version;
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel.version;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Read-only set of the available versions of an artifact, sorted by {@link VersionMatcher#COMPARATOR}.
+ * <p>
+ * The latest version accepted by a filter is found by iterating the versions from the latest one, stopping at the first
+ * accepted version, instead of evaluating the filter on every version. The index is built once, and is worth it when
+ * the versions of an artifact are looked up several times.
+ * <p>
+ * The versions that the {@code COMPARATOR} cannot compare (with an invalid epoch or a numeric segment overflowing a
+ * {@code long}) are kept aside, and are only compared when they are accepted by the filter, as
+ * {@link VersionMatcher#getLatestVersion(Collection, Predicate)} does.
+ */
+public final class VersionIndex extends AbstractSet<String> {
+
+    private final Set<String> versions;
+    // ascending order
+    private final Version[] sorted;
+    private final String[] incomparable;
+
+    private VersionIndex(Set<String> versions, Version[] sorted, String[] incomparable) {
+        this.versions = versions;
+        this.sorted = sorted;
+        this.incomparable = incomparable;
+    }
+
+    public static VersionIndex of(Collection<String> versions) {
+        requireNonNull(versions);
+        if (versions instanceof VersionIndex) {
+            return (VersionIndex) versions;
+        }
+
+        final Set<String> distinct = Set.copyOf(versions);
+        final List<Version> comparable = new ArrayList<>(distinct.size());
+        final List<String> incomparable = new ArrayList<>();
+        for (String version : distinct) {
+            final Version parsed = Version.parse(version);
+            if (parsed.isComparable()) {
+                comparable.add(parsed);
+            } else {
+                incomparable.add(version);
+            }
+        }
+        // different versions can be equivalent for the COMPARATOR, order them by their string to keep them all
+        comparable.sort((v1, v2) -> {
+            final int cmp = v1.compareTo(v2);
+            return cmp != 0 ? cmp : v1.toString().compareTo(v2.toString());
+        });
+
+        return new VersionIndex(distinct, comparable.toArray(new Version[0]), incomparable.toArray(new String[0]));
+    }
+
+    /**
+     * Same as {@link VersionMatcher#getLatestVersion(Collection, Predicate)}, evaluating the {@code filter} from
+     * the latest version until a version is accepted.
+     */
+    public Optional<String> getLatestVersion(Predicate<String> filter) {
+        requireNonNull(filter);
+        return getLatestVersion(0, sorted.length, filter, filter);
+    }
+
+    /**
+     * Same as {@link #getLatestVersion(Predicate)}, only considering the versions between {@code lower} and
+     * {@code upper}. The versions outside the bounds are skipped by binary search, without evaluating the filter.
+     * The versions that cannot be compared are not within the bounds.
+     *
+     * @param lower the lower bound, {@code null} if the versions are not bounded below
+     * @param upper the upper bound, {@code null} if the versions are not bounded above
+     */
+    Optional<String> getLatestVersion(Version lower, boolean lowerInclusive, Version upper, boolean upperInclusive,
+                                      Predicate<String> filter) {
+        requireNonNull(filter);
+        final int start = lower == null ? 0 : search(lower, !lowerInclusive);
+        final int end = upper == null ? sorted.length : search(upper, upperInclusive);
+        return getLatestVersion(start, end, filter, version -> false);
+    }
+
+    /**
+     * @param start the index of the first sorted version to consider
+     * @param end the index following the last sorted version to consider
+     * @param filter the sorted versions to consider
+     * @param incomparableFilter the versions that cannot be compared to consider
+     */
+    private Optional<String> getLatestVersion(int start, int end, Predicate<String> filter, Predicate<String> incomparableFilter) {
+        String latest = null;
+        for (int i = end - 1; i >= start; i--) {
+            final String version = sorted[i].toString();
+            if (filter.test(version)) {
+                latest = version;
+                break;
+            }
+        }
+        for (String version : incomparable) {
+            if (incomparableFilter.test(version) && (latest == null || VersionMatcher.COMPARATOR.compare(version, latest) > 0)) {
+                latest = version;
+            }
+        }
+        return Optional.ofNullable(latest);
+    }
+
+    /**
+     * @return the index of the first version greater than the {@code bound}, or greater than or equal to it if not
+     *         {@code after}
+     */
+    private int search(Version bound, boolean after) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            final int cmp = sorted[mid].compareTo(bound);
+            if (cmp < 0 || (after && cmp == 0)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return the versions, from the latest one, followed by the versions that cannot be compared
+     */
+    public Iterator<String> descendingIterator() {
+        return new Iterator<>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < sorted.length + incomparable.length;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final int i = next++;
+                return i < sorted.length ? sorted[sorted.length - 1 - i].toString() : incomparable[i - sorted.length];
+            }
+        };
+    }
+
+    /**
+     * @return the versions, from the oldest one, followed by the versions that cannot be compared
+     */
+    @Override
+    public Iterator<String> iterator() {
+        final List<String> all = new ArrayList<>(size());
+        for (Version version : sorted) {
+            all.add(version.toString());
+        }
+        all.addAll(Arrays.asList(incomparable));
+        return Collections.unmodifiableList(all).iterator();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return versions.contains(o);
+    }
+
+    @Override
+    public int size() {
+        return versions.size();
+    }
+}
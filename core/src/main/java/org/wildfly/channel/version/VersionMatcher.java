@@ -18,9 +18,12 @@ package org.wildfly.channel.version;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Utility class to determine tle latest version among a set of versions.
@@ -46,12 +49,50 @@ public interface VersionMatcher {
      * @return an Optional of the latest version.
      */
     static Optional<String> getLatestVersion(Set<String> versions) {
+        return getLatestVersion(versions, v -> true);
+    }
+
+    /**
+     * Determine the latest version among the parameters accepted by the {@code filter}, based on the {@link #COMPARATOR}.
+     * The versions are compared in a single pass, without being sorted or copied. If the versions are a
+     * {@link VersionIndex}, the filter is only evaluated from the latest version until a version is accepted.
+     *
+     * @param versions a Collection of versions
+     * @param filter the versions to consider
+     * @return an Optional of the latest version.
+     */
+    static Optional<String> getLatestVersion(Collection<String> versions, Predicate<String> filter) {
         requireNonNull(versions);
-        return versions.stream().sorted(COMPARATOR.reversed()).findFirst();
+        requireNonNull(filter);
+        if (versions instanceof VersionIndex) {
+            return ((VersionIndex) versions).getLatestVersion(filter);
+        }
+        String latest = null;
+        for (String version : versions) {
+            if (filter.test(version) && (latest == null || COMPARATOR.compare(version, latest) > 0)) {
+                latest = version;
+            }
+        }
+        return Optional.ofNullable(latest);
     }
 
     Optional<String> matches(Set<String> samples);
 
+    /**
+     * Same as {@link #matches(Set)} on the samples accepted by the {@code filter}, without copying them.
+     */
+    default Optional<String> matches(Set<String> samples, Predicate<String> filter) {
+        requireNonNull(samples);
+        requireNonNull(filter);
+        final Set<String> accepted = new HashSet<>();
+        for (String sample : samples) {
+            if (filter.test(sample)) {
+                accepted.add(sample);
+            }
+        }
+        return matches(accepted);
+    }
+
     /**
      * Copied from https://raw.githubusercontent.com/wolfc/updepres/master/model/src/main/java/org/jboss/up/depres/version/VersionComparator.java
      * FIXME: proper attribution
@@ -16,34 +16,84 @@
  */
 package org.wildfly.channel.version;
 
-import static java.util.Optional.empty;
-
-import java.util.ArrayList;
-import java.util.List;
+import java.lang.ref.WeakReference;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
 public class VersionPatternMatcher implements VersionMatcher {
+
+    // matchers in use, keyed by the expression of their pattern. The keys are held by the patterns of the matchers,
+    // so an entry is removed once its matcher is not used anymore
+    private static final Map<String, WeakReference<VersionPatternMatcher>> SHARED = new WeakHashMap<>();
+
     private final Pattern pattern;
+    // rejects most of the versions that cannot match before running the regex engine
+    private final LiteralAffixes affixes;
 
     public VersionPatternMatcher(Pattern pattern) {
         this.pattern = pattern;
+        this.affixes = LiteralAffixes.of(pattern);
     }
 
-    @Override
-    public Optional<String> matches(Set<String> samples) {
-        List<String> matches = new ArrayList<>();
-        for (String sample : samples) {
-            if (pattern.matcher(sample).matches()) {
-                matches.add(sample);
+    /**
+     * Returns a matcher for the {@code pattern}, sharing the matchers, and their compiled patterns, between all the
+     * streams using the same version pattern.
+     *
+     * @param pattern the version pattern
+     * @return a matcher for a pattern equivalent to {@code pattern}
+     */
+    public static VersionPatternMatcher of(Pattern pattern) {
+        if (pattern.flags() != 0) {
+            // the shared matchers are keyed by the expression only
+            return new VersionPatternMatcher(pattern);
+        }
+        synchronized (SHARED) {
+            final WeakReference<VersionPatternMatcher> ref = SHARED.get(pattern.pattern());
+            VersionPatternMatcher matcher = ref == null ? null : ref.get();
+            if (matcher == null) {
+                matcher = new VersionPatternMatcher(pattern);
+                SHARED.put(pattern.pattern(), new WeakReference<>(matcher));
             }
+            return matcher;
         }
-        if (matches.isEmpty()) {
-            return empty();
+    }
+
+    /**
+     * Same as {@link #of(Pattern)}, compiling the {@code expression} only if no matcher uses it yet.
+     *
+     * @param expression the version pattern
+     * @return a matcher for the {@code expression}
+     */
+    public static VersionPatternMatcher of(String expression) {
+        synchronized (SHARED) {
+            final WeakReference<VersionPatternMatcher> ref = SHARED.get(expression);
+            final VersionPatternMatcher matcher = ref == null ? null : ref.get();
+            if (matcher != null) {
+                return matcher;
+            }
         }
+        return of(Pattern.compile(expression));
+    }
+
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    @Override
+    public Optional<String> matches(Set<String> samples) {
+        return VersionMatcher.getLatestVersion(samples, this::matches);
+    }
+
+    @Override
+    public Optional<String> matches(Set<String> samples, Predicate<String> filter) {
+        return VersionMatcher.getLatestVersion(samples, sample -> filter.test(sample) && matches(sample));
+    }
 
-        matches.sort(COMPARATOR);
-        return Optional.of(matches.get(matches.size() - 1));
+    private boolean matches(String version) {
+        return affixes.mayMatch(version) && pattern.matcher(version).matches();
     }
 }
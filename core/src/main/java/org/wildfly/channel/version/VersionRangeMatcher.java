@@ -0,0 +1,204 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel.version;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Matches the versions within a Maven version range, such as {@code [2.15,2.17)}, {@code [1.0,)}, {@code (,1.0]} or
+ * {@code [1.0]}. Several ranges can be combined, such as {@code (,1.0],[1.2,)}, in which case a version within any of
+ * them is matched.
+ * <p>
+ * The versions are ordered by the {@link VersionMatcher#COMPARATOR}, like the versions of the other streams, so the
+ * qualified versions of a release follow the release itself: {@code 2.17.0.Alpha1} is not within {@code [2.15,2.17)}.
+ * The versions that the {@code COMPARATOR} cannot compare are not within any range.
+ * <p>
+ * If the versions are a {@link VersionIndex}, the versions outside the range are skipped by binary search.
+ */
+public class VersionRangeMatcher implements VersionMatcher {
+
+    private final String range;
+    private final List<Restriction> restrictions;
+
+    /**
+     * @param range the version range
+     * @throws IllegalArgumentException if the {@code range} is not a valid version range
+     */
+    public VersionRangeMatcher(String range) {
+        requireNonNull(range);
+        this.range = range;
+        this.restrictions = parse(range);
+    }
+
+    public String getRange() {
+        return range;
+    }
+
+    /**
+     * @return {@code true} if the {@code version} is within the range
+     */
+    public boolean contains(String version) {
+        final Version parsed = Version.parse(version);
+        if (!parsed.isComparable()) {
+            return false;
+        }
+        for (Restriction restriction : restrictions) {
+            if (restriction.contains(parsed)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Optional<String> matches(Set<String> samples) {
+        return matches(samples, v -> true);
+    }
+
+    @Override
+    public Optional<String> matches(Set<String> samples, Predicate<String> filter) {
+        requireNonNull(samples);
+        requireNonNull(filter);
+        if (!(samples instanceof VersionIndex)) {
+            return VersionMatcher.getLatestVersion(samples, v -> contains(v) && filter.test(v));
+        }
+        final VersionIndex index = (VersionIndex) samples;
+        String latest = null;
+        for (Restriction restriction : restrictions) {
+            final Optional<String> found = index.getLatestVersion(restriction.lower, restriction.lowerInclusive,
+                    restriction.upper, restriction.upperInclusive, filter);
+            if (found.isPresent() && (latest == null || COMPARATOR.compare(found.get(), latest) > 0)) {
+                latest = found.get();
+            }
+        }
+        return Optional.ofNullable(latest);
+    }
+
+    @Override
+    public String toString() {
+        return range;
+    }
+
+    private static List<Restriction> parse(String range) {
+        final List<Restriction> restrictions = new ArrayList<>();
+        String remaining = range.trim();
+        if (remaining.isEmpty()) {
+            throw invalid(range, "the range is empty");
+        }
+        while (!remaining.isEmpty()) {
+            final char open = remaining.charAt(0);
+            if (open != '[' && open != '(') {
+                throw invalid(range, "a range must start with [ or (");
+            }
+            int close = 1;
+            while (close < remaining.length() && remaining.charAt(close) != ']' && remaining.charAt(close) != ')') {
+                close++;
+            }
+            if (close == remaining.length()) {
+                throw invalid(range, "a range must end with ] or )");
+            }
+            restrictions.add(Restriction.parse(range, remaining.substring(1, close), open == '[', remaining.charAt(close) == ']'));
+
+            remaining = remaining.substring(close + 1).trim();
+            if (!remaining.isEmpty()) {
+                if (remaining.charAt(0) != ',') {
+                    throw invalid(range, "the ranges must be separated by ,");
+                }
+                remaining = remaining.substring(1).trim();
+                if (remaining.isEmpty()) {
+                    throw invalid(range, "a range is missing after ,");
+                }
+            }
+        }
+        return restrictions;
+    }
+
+    private static IllegalArgumentException invalid(String range, String reason) {
+        return new IllegalArgumentException(String.format("Invalid version range %s: %s", range, reason));
+    }
+
+    private static final class Restriction {
+        // null if the range is not bounded
+        private final Version lower;
+        private final boolean lowerInclusive;
+        private final Version upper;
+        private final boolean upperInclusive;
+
+        private Restriction(Version lower, boolean lowerInclusive, Version upper, boolean upperInclusive) {
+            this.lower = lower;
+            this.lowerInclusive = lowerInclusive;
+            this.upper = upper;
+            this.upperInclusive = upperInclusive;
+        }
+
+        private static Restriction parse(String range, String bounds, boolean lowerInclusive, boolean upperInclusive) {
+            final int comma = bounds.indexOf(',');
+            if (comma < 0) {
+                // a single version
+                final Version version = bound(range, bounds);
+                if (version == null || !lowerInclusive || !upperInclusive) {
+                    throw invalid(range, "a single version must be written [version]");
+                }
+                return new Restriction(version, true, version, true);
+            }
+            if (bounds.indexOf(',', comma + 1) >= 0) {
+                throw invalid(range, "a range must have a lower and an upper bound");
+            }
+            final Version lower = bound(range, bounds.substring(0, comma));
+            final Version upper = bound(range, bounds.substring(comma + 1));
+            if (lower != null && upper != null) {
+                final int cmp = lower.compareTo(upper);
+                if (cmp > 0 || (cmp == 0 && !(lowerInclusive && upperInclusive))) {
+                    throw invalid(range, "the range does not contain any version");
+                }
+            }
+            return new Restriction(lower, lowerInclusive, upper, upperInclusive);
+        }
+
+        private static Version bound(String range, String bound) {
+            final String trimmed = bound.trim();
+            if (trimmed.isEmpty()) {
+                return null;
+            }
+            final Version version = Version.parse(trimmed);
+            if (!version.isComparable()) {
+                throw invalid(range, "the version " + trimmed + " cannot be compared");
+            }
+            return version;
+        }
+
+        private boolean contains(Version version) {
+            if (lower != null) {
+                final int cmp = version.compareTo(lower);
+                if (cmp < 0 || (cmp == 0 && !lowerInclusive)) {
+                    return false;
+                }
+            }
+            if (upper != null) {
+                final int cmp = version.compareTo(upper);
+                return cmp < 0 || (cmp == 0 && upperInclusive);
+            }
+            return true;
+        }
+    }
+}
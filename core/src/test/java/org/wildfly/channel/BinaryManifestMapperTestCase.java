@@ -0,0 +1,220 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.wildfly.channel.ChannelManifestMapper.SCHEMA_VERSION_1_2_0;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BinaryManifestMapperTestCase {
+
+    private static final String MANIFEST = "schemaVersion: " + SCHEMA_VERSION_1_2_0 + "\n" +
+            "id: test-id\n" +
+            "name: Test manifest\n" +
+            "logical-version: '1.0'\n" +
+            "description: |-\n" +
+            "  Manifest with non-ASCII characters: \u00dcn\u00efc\u00f6d\u00e9\n" +
+            "requires:\n" +
+            "  - id: required-id\n" +
+            "    maven:\n" +
+            "      groupId: org.test\n" +
+            "      artifactId: required\n" +
+            "      version: 1.0.0\n" +
+            "  - id: other-id\n" +
+            "streams:\n" +
+            "  - groupId: org.foo\n" +
+            "    artifactId: foo\n" +
+            "    version: 1.0.0.Final\n" +
+            "  - groupId: org.foo\n" +
+            "    artifactId: foo\n" +
+            "    version: 2.0.0.Final\n" +
+            "  - groupId: org.foo\n" +
+            "    artifactId: '*'\n" +
+            "    versionPattern: '3\\..*'\n" +
+            "  - groupId: org.bar\n" +
+            "    artifactId: bar\n" +
+            "    versionPattern: '3\\..*'\n" +
+            "  - groupId: org.bar\n" +
+            "    artifactId: b\u00e4r\n" +
+            "    version: 4.0.0.Final\n" +
+            "  - groupId: org.baz\n" +
+            "    artifactId: baz\n" +
+            "    versionRange: '[1.0,2.0)'\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testManifestRoundTrip() throws Exception {
+        final ChannelManifest manifest = ChannelManifestMapper.fromString(MANIFEST);
+
+        final BinaryManifest binary = BinaryManifestMapper.manifestFrom(ByteBuffer.wrap(BinaryManifestMapper.toBinary(manifest)));
+
+        assertEquals(manifest, binary.toChannelManifest());
+        assertEquals(ChannelManifestMapper.toYaml(manifest), ChannelManifestMapper.toYaml(binary.toChannelManifest()));
+        assertEquals(manifest.getManifestRequirements(), binary.getManifestRequirements());
+        assertEquals("Test manifest", binary.getName());
+        assertEquals(manifest.getStreams().size(), binary.getStreamCount());
+    }
+
+    @Test
+    public void testFindStreamInBinaryManifest() throws Exception {
+        final ChannelManifest manifest = ChannelManifestMapper.fromString(MANIFEST);
+        final Path file = tempDir.resolve("manifest.bin");
+        BinaryManifestMapper.write(manifest, file);
+
+        final BinaryManifest binary = BinaryManifestMapper.mapManifest(file);
+
+        for (String[] ga : new String[][]{{"org.foo", "foo"}, {"org.foo", "other"}, {"org.bar", "bar"}, {"org.bar", "b\u00e4r"},
+                {"org.bar", "other"}, {"org.baz", "baz"}, {"org.other", "foo"}}) {
+            assertEquals(manifest.findStreamFor(ga[0], ga[1]).map(BinaryManifestMapperTestCase::describe),
+                    binary.findStreamFor(ga[0], ga[1]).map(BinaryManifestMapperTestCase::describe));
+        }
+        assertEquals(Optional.of("1.0.0.Final"), binary.findStreamFor("org.foo", "foo").map(Stream::getVersion));
+        // the pattern of the manifest's stream is reused instead of being compiled again
+        assertSame(manifest.findStreamFor("org.bar", "bar").get().getVersionComparator(),
+                binary.findStreamFor("org.bar", "bar").get().getVersionComparator());
+    }
+
+    // Stream#equals compares the version patterns by identity
+    private static String describe(Stream stream) {
+        return stream.getGroupId() + ":" + stream.getArtifactId() + ":" + stream.getVersion() + ":"
+                + (stream.getVersionPattern() == null ? null : stream.getVersionPattern().pattern()) + ":"
+                + stream.getVersionRange();
+    }
+
+    @Test
+    public void testReadBinaryManifestFromUrl() throws Exception {
+        final ChannelManifest manifest = ChannelManifestMapper.fromString(MANIFEST);
+        final Path file = tempDir.resolve("manifest.bin");
+        BinaryManifestMapper.write(manifest, file);
+
+        assertEquals(manifest, ChannelManifestMapper.from(file.toUri().toURL()));
+    }
+
+    @Test
+    public void testBlocklistRoundTrip() throws Exception {
+        final ClassLoader tccl = Thread.currentThread().getContextClassLoader();
+        for (String resource : new String[]{"channels/test-blocklist.yaml", "channels/test-blocklist-with-wildcards.yaml"}) {
+            final URL url = tccl.getResource(resource);
+            final Blocklist blocklist = Blocklist.from(url);
+            final Path file = tempDir.resolve("blocklist.bin");
+            BinaryManifestMapper.write(blocklist, file);
+
+            final BinaryBlocklist binary = BinaryManifestMapper.mapBlocklist(file);
+            final Blocklist fromUrl = Blocklist.from(file.toUri().toURL());
+            for (String[] ga : new String[][]{{"org.wildfly", "wildfly-ee-galleon-pack"}, {"org.wildfly", "wildfly-cli"},
+                    {"org.other", "other"}}) {
+                assertEquals(blocklist.getVersionsFor(ga[0], ga[1]), binary.getVersionsFor(ga[0], ga[1]));
+                assertEquals(blocklist.getVersionsFor(ga[0], ga[1]), binary.toBlocklist().getVersionsFor(ga[0], ga[1]));
+                assertEquals(blocklist.getVersionsFor(ga[0], ga[1]), fromUrl.getVersionsFor(ga[0], ga[1]));
+            }
+            assertEquals(blocklist.getSchemaVersion(), binary.getSchemaVersion());
+        }
+    }
+
+    @Test
+    public void testBlocklistUrlIsOpenedOnce() throws Exception {
+        final URL yaml = Thread.currentThread().getContextClassLoader().getResource("channels/test-blocklist.yaml");
+        final Path binary = tempDir.resolve("blocklist.bin");
+        BinaryManifestMapper.write(Blocklist.from(yaml), binary);
+
+        for (URL url : new URL[]{yaml, binary.toUri().toURL()}) {
+            final AtomicInteger openings = new AtomicInteger();
+            final URL counted = new URL(null, url.toString(), new URLStreamHandler() {
+                @Override
+                protected URLConnection openConnection(URL u) throws IOException {
+                    openings.incrementAndGet();
+                    return url.openConnection();
+                }
+            });
+
+            assertEquals(Set.of("25.0.1.Final"), Blocklist.from(counted).getVersionsFor("org.wildfly", "wildfly-ee-galleon-pack"));
+            assertEquals(1, openings.get(), url.toString());
+        }
+    }
+
+    @Test
+    public void testReadInvalidBinaryContent() throws Exception {
+        final byte[] manifest = BinaryManifestMapper.toBinary(ChannelManifestMapper.fromString(MANIFEST));
+
+        // not a blocklist
+        assertThrows(InvalidChannelMetadataException.class, () -> BinaryManifestMapper.blocklistFrom(ByteBuffer.wrap(manifest)));
+        // truncated
+        assertThrows(InvalidChannelMetadataException.class, () -> BinaryManifestMapper.manifestFrom(ByteBuffer.wrap(manifest, 0, manifest.length - 4)));
+        // not binary
+        assertThrows(InvalidChannelMetadataException.class, () -> BinaryManifestMapper.manifestFrom(ByteBuffer.wrap(MANIFEST.getBytes())));
+        // corrupted string table: the header is followed by the number of strings and their offsets
+        assertThrows(InvalidChannelMetadataException.class, () -> BinaryManifestMapper.manifestFrom(corrupt(manifest, 8, Integer.MAX_VALUE)));
+        assertThrows(InvalidChannelMetadataException.class, () -> BinaryManifestMapper.manifestFrom(corrupt(manifest, 16, -8)));
+        assertThrows(InvalidChannelMetadataException.class, () -> BinaryManifestMapper.manifestFrom(corrupt(manifest, 16, manifest.length)));
+        final int decreasing = ByteBuffer.wrap(manifest).getInt(20) - 1;
+        assertThrows(InvalidChannelMetadataException.class, () -> BinaryManifestMapper.manifestFrom(corrupt(manifest, 24, decreasing)));
+    }
+
+    @Test
+    public void testBinaryContentIsCheckedLikeItsSchema() throws Exception {
+        final Stream range = new Stream("org.foo", "foo", null, null, "[1.0,2.0)");
+        final Path file = tempDir.resolve("manifest.bin");
+
+        // versionRange is not defined before schema 1.2.0
+        for (String schemaVersion : new String[]{ChannelManifestMapper.SCHEMA_VERSION_1_0_0, ChannelManifestMapper.SCHEMA_VERSION_1_1_0}) {
+            BinaryManifestMapper.write(new ChannelManifest(schemaVersion, null, null, null, null, null, List.of(range)), file);
+            final InvalidChannelMetadataException e = assertThrows(InvalidChannelMetadataException.class,
+                    () -> ChannelManifestMapper.from(file.toUri().toURL()));
+            assertFalse(e.getValidationMessages().isEmpty());
+            assertThrows(InvalidChannelMetadataException.class, () -> BinaryManifestMapper.mapManifest(file));
+        }
+        // unknown schema versions are handled like in YAML
+        final ChannelManifest latestMinor = new ChannelManifest("1.2.99", null, null, null, null, null, List.of(range));
+        BinaryManifestMapper.write(latestMinor, file);
+        assertEquals(latestMinor, ChannelManifestMapper.from(file.toUri().toURL()));
+        BinaryManifestMapper.write(new ChannelManifest("2.0.0", null, null, null, null, null, List.of(range)), file);
+        assertThrows(InvalidChannelMetadataException.class, () -> ChannelManifestMapper.from(file.toUri().toURL()));
+
+        final Path blocklist = tempDir.resolve("blocklist.bin");
+        BinaryManifestMapper.write(new Blocklist("2.0.0", null), blocklist);
+        assertThrows(InvalidChannelMetadataException.class, () -> Blocklist.from(blocklist.toUri().toURL()));
+
+        // a stream without any version, the version being the third int of the last record
+        final byte[] manifest = BinaryManifestMapper.toBinary(new ChannelManifest("1.1.0", null, null, null, null, null,
+                List.of(new Stream("org.foo", "foo", "1.0.0"))));
+        assertThrows(InvalidChannelMetadataException.class,
+                () -> BinaryManifestMapper.manifestFrom(corrupt(manifest, manifest.length - 12, -1)));
+    }
+
+    private static ByteBuffer corrupt(byte[] content, int offset, int value) {
+        return ByteBuffer.wrap(content.clone()).putInt(offset, value);
+    }
+}
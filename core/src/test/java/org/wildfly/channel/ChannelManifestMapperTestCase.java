@@ -21,11 +21,18 @@ import org.junit.jupiter.api.Test;
 import java.net.URL;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Pattern;
 
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ChannelManifestMapperTestCase {
 
@@ -100,4 +107,108 @@ public class ChannelManifestMapperTestCase {
         assertEquals("required", m1.getManifestRequirements().get(0).getArtifactId());
         assertEquals("1.0.0", m1.getManifestRequirements().get(0).getVersion());
     }
+
+    @Test
+    public void testReadManifestInSinglePass() throws Exception {
+        final String yaml = "schemaVersion: " + ChannelManifestMapper.CURRENT_SCHEMA_VERSION + "\n" +
+                "id: test-id\n" +
+                "requires:\n" +
+                "  - id: required-id\n" +
+                "    maven:\n" +
+                "      groupId: org.test\n" +
+                "      artifactId: required\n" +
+                "streams:\n" +
+                "  - groupId: org.foo\n" +
+                "    artifactId: foo\n" +
+                "    version: 1.0.0.Final\n" +
+                "    unknown: [ignored]\n" +
+                "  - groupId: org.bar\n" +
+                "    artifactId: '*'\n" +
+                "    versionPattern: '1\\..*'";
+
+        final Optional<ChannelManifest> manifest = parseInSinglePass(yaml);
+        assertEquals(Optional.of(ChannelManifestMapper.fromString(yaml)), manifest);
+        assertEquals("required-id", manifest.get().getManifestRequirements().get(0).getId());
+        assertEquals("1.0.0.Final", manifest.get().findStreamFor("org.foo", "foo").get().getVersion());
+        assertEquals("1\\..*", manifest.get().findStreamFor("org.bar", "bar").get().getVersionPattern().pattern());
+    }
+
+    @Test
+    public void testInvalidManifestIsReportedBySchemaValidation() throws Exception {
+        final String yaml = "schemaVersion: " + ChannelManifestMapper.CURRENT_SCHEMA_VERSION + "\n" +
+                "streams:\n" +
+                "  - groupId: org.foo\n" +
+                "    artifactId: foo\n" +
+                "    version: 1.0.0.Final\n" +
+                "    versionPattern: '1\\..*'";
+
+        assertFalse(parseInSinglePass(yaml).isPresent());
+        final InvalidChannelMetadataException e = assertThrows(InvalidChannelMetadataException.class,
+                () -> ChannelManifestMapper.fromString(yaml));
+        assertFalse(e.getValidationMessages().isEmpty());
+
+        // not a string
+        assertFalse(parseInSinglePass("schemaVersion: " + ChannelManifestMapper.CURRENT_SCHEMA_VERSION + "\n" +
+                "name: [foo]").isPresent());
+        // unknown schema version, the schema validation finds the closest one
+        assertFalse(parseInSinglePass("schemaVersion: 1.0.99999").isPresent());
+    }
+
+    @Test
+    public void testVersionRangeStream() throws Exception {
+        final String yaml = "schemaVersion: " + ChannelManifestMapper.SCHEMA_VERSION_1_2_0 + "\n" +
+                "streams:\n" +
+                "  - groupId: org.foo\n" +
+                "    artifactId: foo\n" +
+                "    versionRange: '[2.15,2.17)'";
+
+        final ChannelManifest manifest = ChannelManifestMapper.fromString(yaml);
+        assertEquals("[2.15,2.17)", manifest.findStreamFor("org.foo", "foo").get().getVersionRange());
+        assertEquals(Optional.of(manifest), parseInSinglePass(yaml));
+        assertEquals(manifest, ChannelManifestMapper.fromString(ChannelManifestMapper.toYaml(manifest)));
+
+        // not defined before schema 1.2.0
+        final String yaml110 = yaml.replace(ChannelManifestMapper.SCHEMA_VERSION_1_2_0, ChannelManifestMapper.SCHEMA_VERSION_1_1_0);
+        assertFalse(parseInSinglePass(yaml110).isPresent());
+        final InvalidChannelMetadataException e = assertThrows(InvalidChannelMetadataException.class,
+                () -> ChannelManifestMapper.fromString(yaml110));
+        assertFalse(e.getValidationMessages().isEmpty());
+
+        // only one of version, versionPattern or versionRange
+        assertThrows(InvalidChannelMetadataException.class, () -> ChannelManifestMapper.fromString(yaml + "\n    version: 2.16.0.Final"));
+        // not a range
+        assertThrows(InvalidChannelMetadataException.class, () -> ChannelManifestMapper.fromString(yaml.replace("[2.15,2.17)", "2.16.0.Final")));
+        assertThrows(InvalidChannelMetadataException.class, () -> ChannelManifestMapper.fromString(yaml.replace("[2.15,2.17)", "[2.17,2.15)")));
+    }
+
+    @Test
+    public void testManifestsAreWrittenWithTheLowestSchemaVersionNeeded() throws Exception {
+        final Stream fixed = new Stream("org.foo", "foo", "1.0.0");
+        final Stream range = new Stream("org.foo", "bar", null, null, "[2.15,2.17)");
+
+        final ChannelManifest withoutRange = new ChannelManifest.Builder().addStreams(fixed).build();
+        assertEquals(ChannelManifestMapper.SCHEMA_VERSION_1_1_0, withoutRange.getSchemaVersion());
+        assertTrue(ChannelManifestMapper.toYaml(withoutRange).contains("schemaVersion: \"1.1.0\""));
+        assertEquals(ChannelManifestMapper.SCHEMA_VERSION_1_1_0,
+                new ChannelManifest(null, null, null, List.of(fixed)).getSchemaVersion());
+
+        final ChannelManifest withRange = new ChannelManifest.Builder().addStreams(fixed, range).build();
+        assertEquals(ChannelManifestMapper.SCHEMA_VERSION_1_2_0, withRange.getSchemaVersion());
+        assertEquals(withRange, ChannelManifestMapper.fromString(ChannelManifestMapper.toYaml(withRange)));
+        assertEquals(ChannelManifestMapper.SCHEMA_VERSION_1_2_0,
+                new ChannelManifest(null, null, null, List.of(fixed, range)).getSchemaVersion());
+
+        // an explicit schema version is kept
+        assertEquals(ChannelManifestMapper.SCHEMA_VERSION_1_0_0, new ChannelManifest.Builder()
+                .setSchemaVersion(ChannelManifestMapper.SCHEMA_VERSION_1_0_0)
+                .addStreams(fixed)
+                .build()
+                .getSchemaVersion());
+    }
+
+    private static Optional<ChannelManifest> parseInSinglePass(String yaml) throws Exception {
+        return ChannelManifestParser.parse(new YAMLFactory().createParser(yaml),
+                Set.of(ChannelManifestMapper.SCHEMA_VERSION_1_0_0, ChannelManifestMapper.SCHEMA_VERSION_1_1_0,
+                        ChannelManifestMapper.SCHEMA_VERSION_1_2_0));
+    }
 }
@@ -27,17 +27,30 @@ import java.io.IOException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class ChannelSessionInitTestCase {
@@ -418,6 +431,330 @@ public class ChannelSessionInitTestCase {
         }
     }
 
+    /*
+     * Verify that the manifests of the session channels are fetched at the same time and the requirements are linked afterwards
+     */
+    @Test
+    public void channelManifestsAreResolvedConcurrently() throws Exception {
+        MavenVersionsResolver.Factory factory = mock(MavenVersionsResolver.Factory.class);
+        MavenVersionsResolver resolver = mock(MavenVersionsResolver.class);
+        when(factory.create(any())).thenReturn(resolver);
+
+        when(resolver.resolveArtifact("org.example", "foo-bar", null, null, "1.2.0.Final"))
+                .thenReturn(mock(File.class));
+
+        final List<ChannelManifest> manifests = List.of(
+                new ManifestBuilder()
+                        .setId("base-manifest")
+                        .addRequires("required-manifest-one")
+                        .build(),
+                new ManifestBuilder()
+                        .setId("required-manifest-one")
+                        .addStream("org.example", "foo-bar", "1.2.0.Final")
+                        .build(),
+                new ManifestBuilder()
+                        .setId("other-manifest")
+                        .build());
+        // every manifest download waits for the other ones, the session can be created only if they are fetched at the same time
+        final CountDownLatch allManifestsRequested = new CountDownLatch(manifests.size());
+        for (int i = 0; i < manifests.size(); i++) {
+            final Path manifestFile = Files.writeString(tempDir.resolve("manifest-" + i + ".yaml"), ChannelManifestMapper.toYaml(manifests.get(i)));
+            when(resolver.resolveChannelMetadata(eq(List.of(new ChannelManifestCoordinate("test.channels", "manifest-" + i, "1.0.0")))))
+                    .thenAnswer(inv -> {
+                        allManifestsRequested.countDown();
+                        if (!allManifestsRequested.await(10, TimeUnit.SECONDS)) {
+                            throw new RuntimeException("The manifests were not resolved concurrently");
+                        }
+                        return List.of(manifestFile.toUri().toURL());
+                    });
+        }
+
+        List<Channel> channels = List.of(
+                new Channel.Builder()
+                        .setName("root level requiring channel")
+                        .addRepository("test", "test")
+                        .setManifestCoordinate("test.channels", "manifest-0", "1.0.0")
+                        .build(),
+                new Channel.Builder()
+                        .setName("required channel")
+                        .addRepository("test", "test")
+                        .setManifestCoordinate("test.channels", "manifest-1", "1.0.0")
+                        .build(),
+                new Channel.Builder()
+                        .setName("other channel")
+                        .addRepository("test", "test")
+                        .setManifestCoordinate("test.channels", "manifest-2", "1.0.0")
+                        .build()
+        );
+
+        try (ChannelSession session = new ChannelSession(channels, factory)) {
+            // the required channel is not a top level channel
+            assertThat(session.getRuntimeChannels())
+                    .map(c -> c.getChannelDefinition().getName())
+                    .containsExactly("root level requiring channel", "other channel");
+
+            MavenArtifact artifact = session.resolveMavenArtifact("org.example", "foo-bar", null, null, "0");
+            assertEquals("1.2.0.Final", artifact.getVersion());
+        }
+    }
+
+    /*
+     * Verify that a manifest required by several channels of a diamond-shaped graph is downloaded only once
+     */
+    @Test
+    public void sharedRequiredManifestIsResolvedOnce() throws Exception {
+        MavenVersionsResolver.Factory factory = mock(MavenVersionsResolver.Factory.class);
+        MavenVersionsResolver resolver = mock(MavenVersionsResolver.class);
+        when(factory.create(any())).thenReturn(resolver);
+
+        when(resolver.resolveArtifact("org.example", "foo-bar", null, null, "1.2.0.Final"))
+                .thenReturn(mock(File.class));
+
+        mockManifest(resolver, new ManifestBuilder()
+                .setId("common-manifest")
+                .addStream("org.example", "foo-bar", "1.2.0.Final")
+                .build(), "test.channels:common-manifest:1.0.0");
+        mockManifest(resolver, new ManifestBuilder()
+                .setId("left-manifest")
+                .addRequires("common-manifest", "test.channels", "common-manifest", "1.0.0")
+                .build(), "test.channels:left-manifest:1.0.0");
+        mockManifest(resolver, new ManifestBuilder()
+                .setId("right-manifest")
+                .addRequires("common-manifest", "test.channels", "common-manifest", "1.0.0")
+                .build(), "test.channels:right-manifest:1.0.0");
+        mockManifest(resolver, new ManifestBuilder()
+                .setId("base-manifest")
+                .addRequires("left-manifest", "test.channels", "left-manifest", "1.0.0")
+                .addRequires("right-manifest", "test.channels", "right-manifest", "1.0.0")
+                .build(), "test.channels:base-manifest:1.0.0");
+
+        List<Channel> channels = List.of(new Channel.Builder()
+                .setName("root level requiring channel")
+                .addRepository("test", "test")
+                .setManifestCoordinate("test.channels", "base-manifest", "1.0.0")
+                .build());
+
+        try (ChannelSession session = new ChannelSession(channels, factory)) {
+            MavenArtifact artifact = session.resolveMavenArtifact("org.example", "foo-bar", null, null, "0");
+            assertEquals("1.2.0.Final", artifact.getVersion());
+        }
+        verify(resolver, times(1)).resolveChannelMetadata(eq(List.of(ChannelManifestCoordinate.create(null,
+                new MavenCoordinate("test.channels", "common-manifest", "1.0.0")))));
+    }
+
+    /*
+     * Verify that a cycle of manifests required by their Maven coordinates is detected
+     */
+    @Test
+    public void cyclicDependencyByMavenCoordinates() throws Exception {
+        MavenVersionsResolver.Factory factory = mock(MavenVersionsResolver.Factory.class);
+        MavenVersionsResolver resolver = mock(MavenVersionsResolver.class);
+        when(factory.create(any())).thenReturn(resolver);
+
+        mockManifest(resolver, new ManifestBuilder()
+                .setId("required-manifest-one")
+                .addRequires("required-manifest-two", "test.channels", "required-manifest-two", "1.0.0")
+                .build(), "test.channels:required-manifest-one:1.0.0");
+        mockManifest(resolver, new ManifestBuilder()
+                .setId("required-manifest-two")
+                .addRequires("required-manifest-one", "test.channels", "required-manifest-one", "1.0.0")
+                .build(), "test.channels:required-manifest-two:1.0.0");
+        mockManifest(resolver, new ManifestBuilder()
+                .setId("base-manifest")
+                .addRequires("required-manifest-one", "test.channels", "required-manifest-one", "1.0.0")
+                .build(), "test.channels:base-manifest:1.0.0");
+
+        List<Channel> channels = List.of(new Channel.Builder()
+                .setName("root level requiring channel")
+                .addRepository("test", "test")
+                .setManifestCoordinate("test.channels", "base-manifest", "1.0.0")
+                .build());
+
+        assertThrows(CyclicDependencyException.class, () -> new ChannelSession(channels, factory));
+    }
+
+    /*
+     * Verify that deep manifest hierarchies are linked, and that a cycle closing them is detected
+     */
+    @Test
+    public void deepRequirementHierarchy() throws Exception {
+        MavenVersionsResolver.Factory factory = mock(MavenVersionsResolver.Factory.class);
+        MavenVersionsResolver resolver = mock(MavenVersionsResolver.class);
+        when(factory.create(any())).thenReturn(resolver);
+
+        when(resolver.resolveArtifact("org.example", "foo-bar", null, null, "1.2.0.Final"))
+                .thenReturn(mock(File.class));
+
+        final int depth = 50;
+        for (int i = 0; i < depth; i++) {
+            final ManifestBuilder manifest = new ManifestBuilder().setId("manifest-" + i);
+            if (i < depth - 1) {
+                manifest.addRequires("manifest-" + (i + 1), "test.channels", "manifest-" + (i + 1), "1.0.0");
+            } else {
+                manifest.addStream("org.example", "foo-bar", "1.2.0.Final");
+            }
+            mockManifest(resolver, manifest.build(), "test.channels:manifest-" + i + ":1.0.0");
+        }
+
+        List<Channel> channels = List.of(new Channel.Builder()
+                .setName("root level requiring channel")
+                .addRepository("test", "test")
+                .setManifestCoordinate("test.channels", "manifest-0", "1.0.0")
+                .build());
+
+        try (ChannelSession session = new ChannelSession(channels, factory)) {
+            MavenArtifact artifact = session.resolveMavenArtifact("org.example", "foo-bar", null, null, "0");
+            assertEquals("1.2.0.Final", artifact.getVersion());
+        }
+
+        // the last manifest requires the first one
+        mockManifest(resolver, new ManifestBuilder()
+                .setId("manifest-" + (depth - 1))
+                .addRequires("manifest-0", "test.channels", "manifest-0", "1.0.0")
+                .build(), "test.channels:manifest-" + (depth - 1) + ":1.0.0");
+        assertThrows(CyclicDependencyException.class, () -> new ChannelSession(channels, factory));
+    }
+
+    /*
+     * Verify that a lazy session resolves the manifests once, on first use
+     */
+    @Test
+    public void lazySessionIsInitializedOnFirstUse() throws Exception {
+        MavenVersionsResolver.Factory factory = mock(MavenVersionsResolver.Factory.class);
+        MavenVersionsResolver resolver = mock(MavenVersionsResolver.class);
+        when(factory.create(any())).thenReturn(resolver);
+
+        when(resolver.resolveArtifact("org.example", "foo-bar", null, null, "1.2.0.Final"))
+                .thenReturn(mock(File.class));
+        mockManifest(resolver, new ManifestBuilder()
+                .setId("base-manifest")
+                .addStream("org.example", "foo-bar", "1.2.0.Final")
+                .build(), "test.channels:base-manifest:1.0.0");
+
+        List<Channel> channels = List.of(new Channel.Builder()
+                .setName("root level channel")
+                .addRepository("test", "test")
+                .setManifestCoordinate("test.channels", "base-manifest", "1.0.0")
+                .build());
+
+        try (ChannelSession session = new ChannelSession.Builder(channels, factory)
+                .setLazyInitialization(true)
+                .build()) {
+            verify(resolver, never()).resolveChannelMetadata(any());
+
+            // several threads use the session at the same time
+            final ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                final List<Future<MavenArtifact>> artifacts = new ArrayList<>();
+                for (int i = 0; i < 4; i++) {
+                    artifacts.add(executor.submit(() -> session.resolveMavenArtifact("org.example", "foo-bar", null, null, "0")));
+                }
+                for (Future<MavenArtifact> artifact : artifacts) {
+                    assertEquals("1.2.0.Final", artifact.get().getVersion());
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            assertEquals("base-manifest", session.getManifests().get(0).getId());
+        }
+        verify(resolver, times(1)).resolveChannelMetadata(any());
+    }
+
+    /*
+     * Verify that the initialization failure of a lazy session is thrown on first use
+     */
+    @Test
+    public void lazySessionThrowsInitializationFailureOnUse() throws Exception {
+        MavenVersionsResolver.Factory factory = mock(MavenVersionsResolver.Factory.class);
+        MavenVersionsResolver resolver = mock(MavenVersionsResolver.class);
+        when(factory.create(any())).thenReturn(resolver);
+
+        mockManifest(resolver, new ManifestBuilder()
+                .setId("base-manifest")
+                .addRequires("idontexist")
+                .build(), "test.channels:base-manifest:1.0.0");
+
+        List<Channel> channels = List.of(new Channel.Builder()
+                .setName("root level channel")
+                .addRepository("test", "test")
+                .setManifestCoordinate("test.channels", "base-manifest", "1.0.0")
+                .build());
+
+        try (ChannelSession session = new ChannelSession.Builder(channels, factory)
+                .setLazyInitialization(true)
+                .build()) {
+            assertThrows(UnresolvedRequiredManifestException.class, session::getRuntimeChannels);
+            assertThrows(UnresolvedRequiredManifestException.class,
+                    () -> session.resolveMavenArtifact("org.example", "foo-bar", null, null, "0"));
+        }
+        verify(resolver, times(1)).resolveChannelMetadata(any());
+    }
+
+    /*
+     * Verify that a lazy session can be cancelled, or run out of time, before its channels are initialized,
+     * and is initialized by the next use if the initialization was interrupted
+     */
+    @Test
+    public void lazySessionIsAbortedBeforeInitialization() throws Exception {
+        MavenVersionsResolver.Factory factory = mock(MavenVersionsResolver.Factory.class);
+        MavenVersionsResolver resolver = mock(MavenVersionsResolver.class);
+        when(factory.create(any())).thenReturn(resolver);
+
+        Path manifestFile = tempDir.resolve("manifest_" + RandomUtils.nextInt() + ".yaml");
+        Files.writeString(manifestFile, ChannelManifestMapper.toYaml(new ManifestBuilder()
+                .setId("base-manifest")
+                .addStream("org.example", "foo-bar", "1.2.0.Final")
+                .build()));
+        // the manifest cannot be fetched until the end of the test, a fetch is stuck until it is interrupted
+        final AtomicBoolean stuck = new AtomicBoolean(true);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        when(resolver.resolveChannelMetadata(any())).thenAnswer(invocationOnMock -> {
+            if (stuck.get()) {
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted", e);
+                }
+            }
+            return List.of(manifestFile.toUri().toURL());
+        });
+        when(resolver.resolveArtifacts(any())).thenAnswer(invocationOnMock -> {
+            List<ArtifactCoordinate> coords = invocationOnMock.getArgument(0);
+            return coords.stream().map(c -> new File(c.getArtifactId())).collect(Collectors.toList());
+        });
+
+        List<Channel> channels = List.of(new Channel.Builder()
+                .setName("root level channel")
+                .addRepository("test", "test")
+                .setManifestCoordinate("test.channels", "base-manifest", "1.0.0")
+                .build());
+        final List<ArtifactCoordinate> coordinates = List.of(new ArtifactCoordinate("org.example", "foo-bar", null, null, "0"));
+
+        try (ChannelSession session = new ChannelSession.Builder(channels, factory)
+                .setLazyInitialization(true)
+                .build()) {
+            final CancellationToken token = new CancellationToken();
+            token.cancel();
+            final ResolutionCancelledException cancelled = assertThrows(ResolutionCancelledException.class,
+                    () -> session.resolveMavenArtifacts(coordinates, null, token));
+            assertEquals(Set.copyOf(coordinates), cancelled.getUnresolvedArtifacts());
+            assertEquals(Set.of(new Repository("test", "test")), cancelled.getAttemptedRepositories());
+
+            final long start = System.currentTimeMillis();
+            final ResolutionCancelledException expired = assertThrows(ResolutionCancelledException.class,
+                    () -> session.resolveMavenArtifacts(coordinates, Duration.ofMillis(200), null));
+            assertTrue(expired.isDeadlineExceeded());
+            assertTrue(System.currentTimeMillis() - start < TimeUnit.SECONDS.toMillis(30));
+            assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+
+            // the interrupted initialization is not remembered
+            stuck.set(false);
+            assertEquals("1.2.0.Final", session.resolveMavenArtifacts(coordinates).get(0).getVersion());
+        }
+    }
+
     private void mockManifest(MavenVersionsResolver resolver, ChannelManifest manifest, String gav) throws IOException {
         mockManifest(resolver, ChannelManifestMapper.toYaml(manifest), gav);
     }
@@ -19,6 +19,7 @@ package org.wildfly.channel;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singleton;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -28,22 +29,40 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.wildfly.channel.ChannelManifestMapper.CURRENT_SCHEMA_VERSION;
+import static org.wildfly.channel.ChannelManifestMapper.SCHEMA_VERSION_1_2_0;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -52,10 +71,14 @@ import org.mockito.ArgumentMatcher;
 import org.mockito.ArgumentMatchers;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
+import org.wildfly.channel.spi.ArtifactResolutionResult;
 import org.wildfly.channel.spi.MavenVersionsResolver;
 
 public class ChannelSessionTestCase {
 
+    // enough artifacts to be downloaded in several batches, the last one being partial
+    private static final int SEVERAL_BATCHES_OF_ARTIFACTS = 2 * ChannelSession.DOWNLOAD_BATCH_SIZE + 5;
+
     @TempDir
     private Path tempDir;
 
@@ -105,6 +128,32 @@ public class ChannelSessionTestCase {
         return channels;
     }
 
+    /**
+     * Artifacts {@code org.foo:foo<i>}, each provided by a stream of the manifest with the version {@code 1.0.<i>}.
+     */
+    private static ManifestWithArtifacts manifestWithArtifacts(int count) {
+        final StringBuilder manifest = new StringBuilder("schemaVersion: " + CURRENT_SCHEMA_VERSION + "\n" +
+                "streams:\n");
+        final List<ArtifactCoordinate> coordinates = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            manifest.append("  - groupId: org.foo\n" +
+                    "    artifactId: foo" + i + "\n" +
+                    "    version: \"1.0." + i + "\"\n");
+            coordinates.add(new ArtifactCoordinate("org.foo", "foo" + i, null, null, "1.0.0"));
+        }
+        return new ManifestWithArtifacts(manifest.toString(), coordinates);
+    }
+
+    private static class ManifestWithArtifacts {
+        private final String manifest;
+        private final List<ArtifactCoordinate> coordinates;
+
+        private ManifestWithArtifacts(String manifest, List<ArtifactCoordinate> coordinates) {
+            this.manifest = manifest;
+            this.coordinates = coordinates;
+        }
+    }
+
     @Test
     public void testFindLatestMavenArtifactVersionThrowsUnresolvedMavenArtifactException() throws Exception {
         String manifest = "schemaVersion: " + CURRENT_SCHEMA_VERSION + "\n" +
@@ -133,6 +182,30 @@ public class ChannelSessionTestCase {
         verify(resolver, times(1)).close();
     }
 
+    @Test
+    public void testFindLatestMavenArtifactVersionInVersionRange() throws Exception {
+        String manifest = "schemaVersion: " + SCHEMA_VERSION_1_2_0 + "\n" +
+                "streams:\n" +
+                "  - groupId: org.wildfly\n" +
+                "    artifactId: '*'\n" +
+                "    versionRange: '[25,26)'";
+
+        MavenVersionsResolver.Factory factory = mock(MavenVersionsResolver.Factory.class);
+        MavenVersionsResolver resolver = mock(MavenVersionsResolver.class);
+
+        when(factory.create(any())).thenReturn(resolver);
+        when(resolver.getAllVersions("org.wildfly", "wildfly-ee-galleon-pack", null, null))
+                .thenReturn(new HashSet<>(Arrays.asList("24.0.0.Final", "25.0.0.Final", "25.0.1.Final", "26.0.0.Beta1", "26.0.0.Final")));
+
+        final List<Channel> channels = mockChannel(resolver, tempDir, manifest);
+
+        try (ChannelSession session = new ChannelSession(channels, factory)) {
+            assertEquals("25.0.1.Final", session.findLatestMavenArtifactVersion("org.wildfly", "wildfly-ee-galleon-pack", null, null, null).getVersion());
+        }
+
+        verify(resolver, times(1)).close();
+    }
+
     @Test
     public void testResolveLatestMavenArtifact() throws Exception {
         String manifest = "schemaVersion: " + CURRENT_SCHEMA_VERSION + "\n" +
@@ -168,6 +241,31 @@ public class ChannelSessionTestCase {
         verify(resolver, times(1)).close();
     }
 
+    @Test
+    public void testAvailableVersionsDependOnTheExtension() throws Exception {
+        String manifest = "schemaVersion: " + CURRENT_SCHEMA_VERSION + "\n" +
+                "streams:\n" +
+                "  - groupId: org.wildfly\n" +
+                "    artifactId: '*'\n" +
+                "    versionPattern: '25\\.\\d+\\.\\d+.Final'";
+
+        MavenVersionsResolver.Factory factory = mock(MavenVersionsResolver.Factory.class);
+        MavenVersionsResolver resolver = mock(MavenVersionsResolver.class);
+
+        when(factory.create(any())).thenReturn(resolver);
+        when(resolver.getAllVersions(eq("org.wildfly"), eq("wildfly-ee-galleon-pack"), eq("jar"), any()))
+                .thenAnswer(i -> new HashSet<>(Arrays.asList("25.0.0.Final", "25.0.1.Final", "26.0.0.Final")));
+        when(resolver.getAllVersions(eq("org.wildfly"), eq("wildfly-ee-galleon-pack"), eq("zip"), any()))
+                .thenAnswer(i -> new HashSet<>(Arrays.asList("25.0.0.Final", "26.0.0.Final")));
+
+        final List<Channel> channels = mockChannel(resolver, tempDir, manifest);
+
+        try (ChannelSession session = new ChannelSession(channels, factory)) {
+            assertEquals("25.0.1.Final", session.findLatestMavenArtifactVersion("org.wildfly", "wildfly-ee-galleon-pack", "jar", null, null).getVersion());
+            assertEquals("25.0.0.Final", session.findLatestMavenArtifactVersion("org.wildfly", "wildfly-ee-galleon-pack", "zip", null, null).getVersion());
+        }
+    }
+
     @Test
     public void testResolveLatestMavenArtifactThrowUnresolvedMavenArtifactException() throws Exception {
         String manifest = "schemaVersion: " + CURRENT_SCHEMA_VERSION + "\n" +
@@ -366,6 +464,7 @@ public class ChannelSessionTestCase {
            new ArtifactCoordinate("org.bar", "bar", null, null, "26.0.0.Final"));
         when(resolver.resolveArtifacts(argThat(mavenCoordinates -> mavenCoordinates.size() == 2)))
            .thenReturn(asList(resolvedArtifactFile1, resolvedArtifactFile2));
+        when(resolver.resolveAvailableArtifacts(any())).thenCallRealMethod();
 
         final List<Channel> channels = mockChannel(resolver, tempDir, manifest);
 
@@ -438,6 +537,9 @@ public class ChannelSessionTestCase {
                 throw new RuntimeException("Unexpected query " + coords);
             }
         });
+        // use the default implementation falling back to resolveArtifacts
+        when(resolver1.resolveAvailableArtifacts(any())).thenCallRealMethod();
+        when(resolver2.resolveAvailableArtifacts(any())).thenCallRealMethod();
         when(resolver2.resolveArtifacts(any())).thenAnswer(inv -> {
             final List<ArtifactCoordinate> coords = inv.getArgument(0);
             if (coords.size() == 2) {
@@ -484,6 +586,51 @@ public class ChannelSessionTestCase {
         verify(resolver2, times(1)).close();
     }
 
+    @Test
+    public void testResolveDirectMavenArtifactsResolvesAvailableArtifactsOnce() throws Exception {
+        String manifest = "schemaVersion: " + CURRENT_SCHEMA_VERSION + "\n" +
+                "streams:\n" +
+                "  - groupId: org.not\n" +
+                "    artifactId: used\n" +
+                "    version: \"1.0.0.Final\"";
+
+        MavenVersionsResolver.Factory factory = mock(MavenVersionsResolver.Factory.class);
+        MavenVersionsResolver resolver1 = mock(MavenVersionsResolver.class);
+        MavenVersionsResolver resolver2 = mock(MavenVersionsResolver.class);
+        File resolvedArtifactFile1 = mock(File.class);
+        File resolvedArtifactFile2 = mock(File.class);
+
+        when(factory.create(any())).thenAnswer(inv -> {
+            final Channel channel = inv.getArgument(0);
+            return channel.getName().equals("channel-0") ? resolver1 : resolver2;
+        });
+
+        final ArtifactCoordinate fooArtifact = new ArtifactCoordinate("org.foo", "foo", null, null, "25.0.0.Final");
+        final ArtifactCoordinate barArtifact = new ArtifactCoordinate("org.bar", "bar", null, null, "26.0.0.Final");
+        // each channel is able to resolve only one of the artifacts
+        when(resolver1.resolveAvailableArtifacts(List.of(fooArtifact, barArtifact)))
+                .thenReturn(new ArtifactResolutionResult(Map.of(fooArtifact, resolvedArtifactFile1), Set.of(barArtifact)));
+        when(resolver2.resolveAvailableArtifacts(List.of(barArtifact)))
+                .thenReturn(new ArtifactResolutionResult(Map.of(barArtifact, resolvedArtifactFile2), Collections.emptySet()));
+
+        final List<Channel> channels = mockChannel(resolver1, tempDir, manifest);
+        channels.add(new Channel.Builder(mockChannel(resolver2, tempDir, manifest).get(0))
+                .setName("channel-1").build());
+
+        try (ChannelSession session = new ChannelSession(channels, factory)) {
+            List<MavenArtifact> resolved = session.resolveDirectMavenArtifacts(List.of(fooArtifact, barArtifact));
+
+            assertEquals(List.of(
+                    new MavenArtifact("org.foo", "foo", null, null, "25.0.0.Final", resolvedArtifactFile1, "channel-0"),
+                    new MavenArtifact("org.bar", "bar", null, null, "26.0.0.Final", resolvedArtifactFile2, "channel-1")),
+                    resolved);
+        }
+
+        // the artifacts resolved by the first channel are not resolved a second time
+        verify(resolver1, never()).resolveArtifacts(any());
+        verify(resolver2, never()).resolveArtifacts(any());
+    }
+
     @Test
     public void testResolveMavenArtifactsFromTwoChannelsWithSameStream() throws Exception {
         String manifest1 = "schemaVersion: " + CURRENT_SCHEMA_VERSION + "\n" +
@@ -732,6 +879,638 @@ public class ChannelSessionTestCase {
     }
 
 
+    @Test
+    public void testLatestVersionLookupsAreCachedUntilInvalidated() throws Exception {
+        String manifest = "schemaVersion: " + CURRENT_SCHEMA_VERSION + "\n" +
+                "streams:\n" +
+                "  - groupId: org.wildfly\n" +
+                "    artifactId: '*'\n" +
+                "    versionPattern: '25\\.\\d+\\.\\d+.Final'";
+
+        MavenVersionsResolver.Factory factory = mock(MavenVersionsResolver.Factory.class);
+        MavenVersionsResolver resolver = mock(MavenVersionsResolver.class);
+        File resolvedArtifactFile = mock(File.class);
+
+        when(factory.create(any())).thenReturn(resolver);
+        when(resolver.getAllVersions("org.wildfly", "wildfly-ee-galleon-pack", null, null)).thenReturn(new HashSet<>(Arrays.asList("25.0.0.Final", "25.0.1.Final")));
+        when(resolver.getAllVersions("org.wildfly", "wildfly-unknown", null, null)).thenReturn(Collections.emptySet());
+        when(resolver.resolveArtifact("org.wildfly", "wildfly-ee-galleon-pack", null, null, "25.0.1.Final")).thenReturn(resolvedArtifactFile);
+
+        final List<Channel> channels = mockChannel(resolver, tempDir, manifest);
+
+        try (ChannelSession session = new ChannelSession(channels, factory)) {
+            assertEquals("25.0.1.Final", session.findLatestMavenArtifactVersion("org.wildfly", "wildfly-ee-galleon-pack", null, null, null).getVersion());
+            assertEquals("25.0.1.Final", session.resolveMavenArtifact("org.wildfly", "wildfly-ee-galleon-pack", null, null, null).getVersion());
+            verify(resolver, times(1)).getAllVersions("org.wildfly", "wildfly-ee-galleon-pack", null, null);
+
+            // artifacts not provided by the channels are remembered as well
+            Assertions.assertThrows(NoStreamFoundException.class, () ->
+                    session.findLatestMavenArtifactVersion("org.wildfly", "wildfly-unknown", null, null, null));
+            Assertions.assertThrows(NoStreamFoundException.class, () ->
+                    session.findLatestMavenArtifactVersion("org.wildfly", "wildfly-unknown", null, null, null));
+            verify(resolver, times(1)).getAllVersions("org.wildfly", "wildfly-unknown", null, null);
+
+            session.invalidate();
+
+            assertEquals("25.0.1.Final", session.findLatestMavenArtifactVersion("org.wildfly", "wildfly-ee-galleon-pack", null, null, null).getVersion());
+            verify(resolver, times(2)).getAllVersions("org.wildfly", "wildfly-ee-galleon-pack", null, null);
+        }
+    }
+
+
+    @Test
+    public void testResolveMavenArtifactsAsync() throws Exception {
+        String manifest = "schemaVersion: " + CURRENT_SCHEMA_VERSION + "\n" +
+                "streams:\n" +
+                "  - groupId: org.foo\n" +
+                "    artifactId: foo\n" +
+                "    version: \"25.0.0.Final\"\n" +
+                "  - groupId: org.bar\n" +
+                "    artifactId: bar\n" +
+                "    version: \"26.0.0.Final\"";
+
+        MavenVersionsResolver.Factory factory = mock(MavenVersionsResolver.Factory.class);
+        MavenVersionsResolver resolver = mock(MavenVersionsResolver.class);
+        File resolvedArtifactFile1 = mock(File.class);
+        File resolvedArtifactFile2 = mock(File.class);
+        final List<MavenArtifact> expectedArtifacts = asList(
+                new MavenArtifact("org.foo", "foo", null, null, "25.0.0.Final", resolvedArtifactFile1, "channel-0"),
+                new MavenArtifact("org.bar", "bar", null, null, "26.0.0.Final", resolvedArtifactFile2, "channel-0")
+        );
+
+        when(factory.create(any())).thenReturn(resolver);
+        when(resolver.resolveArtifact("org.foo", "foo", null, null, "25.0.0.Final")).thenReturn(resolvedArtifactFile1);
+        when(resolver.resolveArtifacts(argThat(mavenCoordinates -> mavenCoordinates.size() == 2)))
+                .thenAnswer(invocationOnMock -> extractFilesInGivenOrder(invocationOnMock.getArgument(0), expectedArtifacts));
+
+        final List<Channel> channels = mockChannel(resolver, tempDir, manifest);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try (ChannelSession session = new ChannelSession(channels, factory)) {
+            assertEquals(new VersionResult("26.0.0.Final", "channel-0"),
+                    session.findLatestMavenArtifactVersionAsync("org.bar", "bar", null, null, null, executor).get());
+            assertEquals(expectedArtifacts.get(0),
+                    session.resolveMavenArtifactAsync("org.foo", "foo", null, null, null, executor).get());
+
+            List<MavenArtifact> resolved = session.resolveMavenArtifactsAsync(asList(
+                    new ArtifactCoordinate("org.foo", "foo", null, null, "1.0.0"),
+                    new ArtifactCoordinate("org.bar", "bar", null, null, "1.0.0")), executor).get();
+            assertContainsAll(expectedArtifacts, resolved);
+
+            ExecutionException ex = Assertions.assertThrows(ExecutionException.class, () ->
+                    session.resolveMavenArtifactAsync("org.baz", "baz", null, null, null, executor).get());
+            assertTrue(ex.getCause() instanceof NoStreamFoundException);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+
+    @Test
+    public void testResolveMavenArtifactsDownloadsInBatches() throws Exception {
+        final int artifactCount = SEVERAL_BATCHES_OF_ARTIFACTS;
+        final ManifestWithArtifacts fixture = manifestWithArtifacts(artifactCount);
+        final List<ArtifactCoordinate> coordinates = fixture.coordinates;
+
+        MavenVersionsResolver.Factory factory = mock(MavenVersionsResolver.Factory.class);
+        MavenVersionsResolver resolver = mock(MavenVersionsResolver.class);
+        final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+        when(factory.create(any())).thenReturn(resolver);
+        when(resolver.resolveArtifacts(any())).thenAnswer(invocationOnMock -> {
+            List<ArtifactCoordinate> coords = invocationOnMock.getArgument(0);
+            batchSizes.add(coords.size());
+            final List<File> files = new ArrayList<>();
+            for (ArtifactCoordinate coord : coords) {
+                files.add(new File(coord.getArtifactId() + "-" + coord.getVersion() + ".jar"));
+            }
+            return files;
+        });
+
+        final List<Channel> channels = mockChannel(resolver, tempDir, fixture.manifest);
+
+        try (ChannelSession session = new ChannelSession(channels, factory)) {
+            List<MavenArtifact> resolved = session.resolveMavenArtifacts(coordinates);
+
+            assertEquals(artifactCount, resolved.size());
+            for (MavenArtifact artifact : resolved) {
+                final String expectedVersion = "1.0." + artifact.getArtifactId().substring("foo".length());
+                assertEquals(expectedVersion, artifact.getVersion());
+                assertEquals(new File(artifact.getArtifactId() + "-" + expectedVersion + ".jar"), artifact.getFile());
+                assertEquals("channel-0", artifact.getChannelName().get());
+            }
+            assertTrue(batchSizes.size() > 1, "Artifacts should be downloaded in several batches");
+            assertEquals(artifactCount, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        }
+    }
+
+
+    @Test
+    public void testFailedBatchReportsAllTheUnresolvedArtifacts() throws Exception {
+        final int artifactCount = SEVERAL_BATCHES_OF_ARTIFACTS;
+        final ManifestWithArtifacts fixture = manifestWithArtifacts(artifactCount);
+        final List<ArtifactCoordinate> coordinates = fixture.coordinates;
+
+        MavenVersionsResolver.Factory factory = mock(MavenVersionsResolver.Factory.class);
+        MavenVersionsResolver resolver = mock(MavenVersionsResolver.class);
+        final CountDownLatch failed = new CountDownLatch(1);
+        final AtomicBoolean failing = new AtomicBoolean();
+        final Set<ArtifactCoordinate> failedBatch = ConcurrentHashMap.newKeySet();
+
+        when(factory.create(any())).thenReturn(resolver);
+        when(resolver.resolveArtifacts(any())).thenAnswer(invocationOnMock -> {
+            List<ArtifactCoordinate> coords = invocationOnMock.getArgument(0);
+            // the batches are filled in the order the versions are found, fail the first full one
+            if (coords.size() == ChannelSession.DOWNLOAD_BATCH_SIZE && failing.compareAndSet(false, true)) {
+                failedBatch.addAll(coords);
+                throw new ArtifactTransferException("Unable to download", new HashSet<>(coords), Set.of(new Repository("test", "test")));
+            }
+            // the other batches complete once the resolution failed
+            failed.await(10, TimeUnit.SECONDS);
+            final List<File> files = new ArrayList<>();
+            for (ArtifactCoordinate coord : coords) {
+                files.add(new File(coord.getArtifactId() + "-" + coord.getVersion() + ".jar"));
+            }
+            return files;
+        });
+
+        final List<Channel> channels = mockChannel(resolver, tempDir, fixture.manifest);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try (ChannelSession session = new ChannelSession(channels, factory, executor)) {
+            final ArtifactTransferException e = Assertions.assertThrows(ArtifactTransferException.class,
+                    () -> session.resolveMavenArtifacts(coordinates));
+            failed.countDown();
+
+            assertEquals(ChannelSession.DOWNLOAD_BATCH_SIZE, failedBatch.size());
+            assertEquals(artifactCount, e.getUnresolvedArtifacts().size());
+            assertTrue(e.getUnresolvedArtifacts().containsAll(failedBatch));
+            assertEquals(coordinates.stream().map(ArtifactCoordinate::getArtifactId).collect(Collectors.toSet()),
+                    e.getUnresolvedArtifacts().stream().map(ArtifactCoordinate::getArtifactId).collect(Collectors.toSet()));
+            assertEquals(Set.of(new Repository("test", "test")), e.getAttemptedRepositories());
+        } finally {
+            failed.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testResolveMavenArtifactsWithConsumer() throws Exception {
+        final int artifactCount = SEVERAL_BATCHES_OF_ARTIFACTS;
+        final ManifestWithArtifacts fixture = manifestWithArtifacts(artifactCount);
+        final List<ArtifactCoordinate> coordinates = fixture.coordinates;
+
+        MavenVersionsResolver.Factory factory = mock(MavenVersionsResolver.Factory.class);
+        MavenVersionsResolver resolver = mock(MavenVersionsResolver.class);
+        final AtomicInteger downloads = new AtomicInteger();
+        final CountDownLatch firstArtifactConsumed = new CountDownLatch(1);
+
+        when(factory.create(any())).thenReturn(resolver);
+        when(resolver.resolveArtifacts(any())).thenAnswer(invocationOnMock -> {
+            // only the first batch is downloaded before an artifact is passed to the consumer
+            if (downloads.getAndIncrement() > 0 && !firstArtifactConsumed.await(10, TimeUnit.SECONDS)) {
+                throw new RuntimeException("The downloaded artifacts were not passed to the consumer");
+            }
+            List<ArtifactCoordinate> coords = invocationOnMock.getArgument(0);
+            return coords.stream().map(c -> new File(c.getArtifactId() + "-" + c.getVersion() + ".jar")).collect(Collectors.toList());
+        });
+
+        final List<Channel> channels = mockChannel(resolver, tempDir, fixture.manifest);
+
+        try (ChannelSession session = new ChannelSession(channels, factory)) {
+            final List<MavenArtifact> consumed = new ArrayList<>();
+            session.resolveMavenArtifacts(coordinates, artifact -> {
+                consumed.add(artifact);
+                firstArtifactConsumed.countDown();
+            });
+
+            assertEquals(artifactCount, consumed.size());
+            assertEquals(artifactCount, consumed.stream().map(MavenArtifact::getArtifactId).distinct().count());
+            assertTrue(downloads.get() > 1, "Artifacts should be downloaded in several batches");
+            assertEquals("1.0.7", session.getRecordedChannel().findStreamFor("org.foo", "foo7").get().getVersion());
+        }
+    }
+
+    @Test
+    public void testResolveMavenArtifactsStopsWhenConsumerFails() throws Exception {
+        String manifest = "schemaVersion: " + CURRENT_SCHEMA_VERSION + "\n" +
+                "streams:\n" +
+                "  - groupId: org.foo\n" +
+                "    artifactId: '*'\n" +
+                "    version: \"1.0.0\"";
+
+        MavenVersionsResolver.Factory factory = mock(MavenVersionsResolver.Factory.class);
+        MavenVersionsResolver resolver = mock(MavenVersionsResolver.class);
+        when(factory.create(any())).thenReturn(resolver);
+        when(resolver.resolveArtifacts(any())).thenAnswer(invocationOnMock -> {
+            List<ArtifactCoordinate> coords = invocationOnMock.getArgument(0);
+            return coords.stream().map(c -> new File(c.getArtifactId())).collect(Collectors.toList());
+        });
+
+        final List<Channel> channels = mockChannel(resolver, tempDir, manifest);
+
+        try (ChannelSession session = new ChannelSession(channels, factory)) {
+            final AtomicInteger consumed = new AtomicInteger();
+            final IllegalStateException failure = Assertions.assertThrows(IllegalStateException.class,
+                    () -> session.resolveMavenArtifacts(List.of(
+                            new ArtifactCoordinate("org.foo", "foo", null, null, "1.0.0"),
+                            new ArtifactCoordinate("org.foo", "bar", null, null, "1.0.0")), artifact -> {
+                        consumed.incrementAndGet();
+                        throw new IllegalStateException("Unable to install " + artifact.getArtifactId());
+                    }));
+
+            assertTrue(failure.getMessage().startsWith("Unable to install"));
+            assertEquals(1, consumed.get());
+        }
+    }
+
+    @Test
+    public void testResolveMavenArtifactsStopsWhenDeadlineExpires() throws Exception {
+        String manifest = "schemaVersion: " + CURRENT_SCHEMA_VERSION + "\n" +
+                "streams:\n" +
+                "  - groupId: org.foo\n" +
+                "    artifactId: '*'\n" +
+                "    version: \"1.0.0\"";
+
+        MavenVersionsResolver.Factory factory = mock(MavenVersionsResolver.Factory.class);
+        MavenVersionsResolver resolver = mock(MavenVersionsResolver.class);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        when(factory.create(any())).thenReturn(resolver);
+        // a stuck repository, only released by an interruption
+        when(resolver.resolveArtifacts(any())).thenAnswer(invocationOnMock -> {
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            throw new ArtifactTransferException("Interrupted", Collections.emptySet(), Collections.emptySet());
+        });
+
+        final List<Channel> channels = mockChannel(resolver, tempDir, manifest);
+        final List<ArtifactCoordinate> coordinates = List.of(
+                new ArtifactCoordinate("org.foo", "foo", null, null, "1.0.0"),
+                new ArtifactCoordinate("org.foo", "bar", null, null, "1.0.0"));
+
+        try (ChannelSession session = new ChannelSession(channels, factory)) {
+            final long start = System.currentTimeMillis();
+            final ResolutionCancelledException ex = Assertions.assertThrows(ResolutionCancelledException.class,
+                    () -> session.resolveMavenArtifacts(coordinates, Duration.ofMillis(200), null));
+
+            assertTrue(ex.isDeadlineExceeded());
+            assertEquals(new HashSet<>(coordinates), ex.getUnresolvedArtifacts());
+            assertTrue(System.currentTimeMillis() - start < TimeUnit.SECONDS.toMillis(30));
+            // the download thread is freed
+            assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testResolveMavenArtifactsStopsWhenCancelled() throws Exception {
+        String manifest = "schemaVersion: " + CURRENT_SCHEMA_VERSION + "\n" +
+                "streams:\n" +
+                "  - groupId: org.foo\n" +
+                "    artifactId: '*'\n" +
+                "    versionPattern: \".*\"";
+
+        MavenVersionsResolver.Factory factory = mock(MavenVersionsResolver.Factory.class);
+        MavenVersionsResolver resolver = mock(MavenVersionsResolver.class);
+        final CountDownLatch lookupStarted = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        when(factory.create(any())).thenReturn(resolver);
+        when(resolver.getAllVersions(eq("org.foo"), eq("foo"), any(), any())).thenReturn(new HashSet<>(Set.of("1.0.0")));
+        // the metadata of bar cannot be fetched until the resolution is cancelled
+        when(resolver.getAllVersions(eq("org.foo"), eq("bar"), any(), any())).thenAnswer(invocationOnMock -> {
+            lookupStarted.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return new HashSet<>(Set.of("1.0.0"));
+        });
+        when(resolver.resolveArtifacts(any())).thenAnswer(invocationOnMock -> {
+            List<ArtifactCoordinate> coords = invocationOnMock.getArgument(0);
+            return coords.stream().map(c -> new File(c.getArtifactId())).collect(Collectors.toList());
+        });
+
+        final List<Channel> channels = mockChannel(resolver, tempDir, manifest);
+        final CancellationToken token = new CancellationToken();
+
+        try (ChannelSession session = new ChannelSession(channels, factory)) {
+            final Thread canceller = new Thread(() -> {
+                try {
+                    lookupStarted.await();
+                    token.cancel();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            canceller.start();
+
+            final List<MavenArtifact> consumed = new ArrayList<>();
+            final List<ArtifactCoordinate> coordinates = List.of(
+                    new ArtifactCoordinate("org.foo", "foo", null, null, "1.0.0"),
+                    new ArtifactCoordinate("org.foo", "bar", null, null, "1.0.0"));
+            final ResolutionCancelledException ex = Assertions.assertThrows(ResolutionCancelledException.class,
+                    () -> session.resolveMavenArtifacts(coordinates, consumed::add, null, token));
+            canceller.join();
+
+            assertFalse(ex.isDeadlineExceeded());
+            assertTrue(token.isCancelled());
+            // foo is waiting in the download queue of its channel, so it is not resolved either
+            assertEquals(new HashSet<>(coordinates), ex.getUnresolvedArtifacts());
+            assertTrue(consumed.isEmpty());
+            assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testPlanAndResolvePlan() throws Exception {
+        String manifest0 = "schemaVersion: " + CURRENT_SCHEMA_VERSION + "\n" +
+                "streams:\n" +
+                "  - groupId: org.foo\n" +
+                "    artifactId: foo\n" +
+                "    versionPattern: \"1\\\\..*\"";
+        String manifest1 = "schemaVersion: " + CURRENT_SCHEMA_VERSION + "\n" +
+                "streams:\n" +
+                "  - groupId: org.foo\n" +
+                "    artifactId: bar\n" +
+                "    version: \"2.0.0\"";
+
+        MavenVersionsResolver.Factory factory = mock(MavenVersionsResolver.Factory.class);
+        MavenVersionsResolver resolver = mock(MavenVersionsResolver.class);
+        when(factory.create(any())).thenReturn(resolver);
+        when(resolver.getAllVersions("org.foo", "foo", null, null)).thenReturn(new HashSet<>(Set.of("1.0.0", "1.1.0", "2.0.0")));
+        when(resolver.resolveArtifacts(any())).thenAnswer(invocationOnMock -> {
+            List<ArtifactCoordinate> coords = invocationOnMock.getArgument(0);
+            return coords.stream().map(c -> new File(c.getArtifactId())).collect(Collectors.toList());
+        });
+
+        final List<Channel> channels = mockChannel(resolver, tempDir, manifest0, manifest1);
+        final List<ArtifactCoordinate> coordinates = List.of(
+                new ArtifactCoordinate("org.foo", "foo", null, null, "1.0.0"),
+                new ArtifactCoordinate("org.foo", "bar", null, null, "1.0.0"));
+
+        final ResolutionPlan plan;
+        try (ChannelSession session = new ChannelSession(channels, factory)) {
+            plan = session.plan(coordinates);
+        }
+        // planning does not download the artifacts
+        verify(resolver, never()).resolveArtifacts(any());
+        verify(resolver, never()).resolveArtifact(any(), any(), any(), any(), any());
+
+        assertEquals(2, plan.getEntries().size());
+        assertEquals(new ArtifactCoordinate("org.foo", "foo", null, null, "1.1.0"), plan.getEntries().get(0).getCoordinate());
+        assertEquals(Optional.of("channel-0"), plan.getEntries().get(0).getChannelName());
+        assertEquals(new ArtifactCoordinate("org.foo", "bar", null, null, "2.0.0"), plan.getEntries().get(1).getCoordinate());
+        assertEquals(Optional.of("channel-1"), plan.getEntries().get(1).getChannelName());
+        assertTrue(plan.getEntries().get(0).toString().contains("requestedVersion='1.0.0'"));
+
+        // the plan can be executed in another process
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(plan);
+        }
+        final ResolutionPlan copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (ResolutionPlan) in.readObject();
+        }
+        assertEquals(plan, copy);
+        assertTrue(copy.changedSince(plan).getEntries().isEmpty());
+
+        try (ChannelSession session = new ChannelSession(channels, factory)) {
+            final List<MavenArtifact> resolved = session.resolvePlan(copy);
+
+            assertEquals(Set.of(
+                    new MavenArtifact("org.foo", "foo", null, null, "1.1.0", new File("foo"), "channel-0"),
+                    new MavenArtifact("org.foo", "bar", null, null, "2.0.0", new File("bar"), "channel-1")), new HashSet<>(resolved));
+            assertEquals(2, session.getRecordedChannel().getStreams().size());
+        }
+        // the versions are not looked up again
+        verify(resolver, times(1)).getAllVersions("org.foo", "foo", null, null);
+    }
+
+    @Test
+    public void testResolvePlanFromDifferentChannels() throws Exception {
+        String manifest = "schemaVersion: " + CURRENT_SCHEMA_VERSION + "\n" +
+                "streams:\n" +
+                "  - groupId: org.foo\n" +
+                "    artifactId: foo\n" +
+                "    version: \"1.0.0\"";
+
+        MavenVersionsResolver.Factory factory = mock(MavenVersionsResolver.Factory.class);
+        MavenVersionsResolver resolver = mock(MavenVersionsResolver.class);
+        when(factory.create(any())).thenReturn(resolver);
+
+        final List<ArtifactCoordinate> coordinates = List.of(new ArtifactCoordinate("org.foo", "foo", null, null, "1.0.0"));
+        final ResolutionPlan plan;
+        try (ChannelSession session = new ChannelSession(mockChannel(resolver, tempDir, manifest), factory)) {
+            plan = session.plan(coordinates);
+        }
+
+        final List<Channel> otherChannels = List.of(new Channel.Builder()
+                .setName("other")
+                .setManifestCoordinate("org.channels", "channel0", "1.0.0")
+                .build());
+        try (ChannelSession session = new ChannelSession(otherChannels, factory)) {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> session.resolvePlan(plan));
+        }
+    }
+
+    @Test
+    public void testResolveMavenArtifactsLooksUpVersionOncePerGroupIdAndArtifactId() throws Exception {
+        String manifest = "schemaVersion: " + CURRENT_SCHEMA_VERSION + "\n" +
+                "streams:\n" +
+                "  - groupId: org.foo\n" +
+                "    artifactId: foo\n" +
+                "    versionPattern: \".*\"";
+
+        MavenVersionsResolver.Factory factory = mock(MavenVersionsResolver.Factory.class);
+        MavenVersionsResolver resolver = mock(MavenVersionsResolver.class);
+        when(factory.create(any())).thenReturn(resolver);
+        when(resolver.getAllVersions(eq("org.foo"), eq("foo"), any(), any())).thenAnswer(invocationOnMock -> new HashSet<>(Set.of("1.0.0", "1.1.0")));
+        when(resolver.resolveArtifacts(any())).thenAnswer(invocationOnMock -> {
+            List<ArtifactCoordinate> coords = invocationOnMock.getArgument(0);
+            return coords.stream().map(c -> new File(c.getArtifactId())).collect(Collectors.toList());
+        });
+
+        final List<Channel> channels = mockChannel(resolver, tempDir, manifest);
+        final List<ArtifactCoordinate> coordinates = List.of(
+                new ArtifactCoordinate("org.foo", "foo", "jar", null, "1.0.0"),
+                new ArtifactCoordinate("org.foo", "foo", "pom", null, "1.0.0"),
+                new ArtifactCoordinate("org.foo", "foo", "jar", "sources", "1.0.0"));
+
+        try (ChannelSession session = new ChannelSession(channels, factory)) {
+            final List<MavenArtifact> resolved = session.resolveMavenArtifacts(coordinates);
+
+            assertEquals(Set.of(
+                    new MavenArtifact("org.foo", "foo", "jar", null, "1.1.0", new File("foo"), "channel-0"),
+                    new MavenArtifact("org.foo", "foo", "pom", null, "1.1.0", new File("foo"), "channel-0"),
+                    new MavenArtifact("org.foo", "foo", "jar", "sources", "1.1.0", new File("foo"), "channel-0")), new HashSet<>(resolved));
+            verify(resolver, times(1)).getAllVersions(eq("org.foo"), eq("foo"), any(), any());
+
+            assertTrue(session.plan(coordinates).getEntries().stream().allMatch(e -> e.getVersion().equals("1.1.0")));
+        }
+    }
+
+    @Test
+    public void testResolveMavenArtifactsWithProvidedExecutor() throws Exception {
+        String manifest = "schemaVersion: " + CURRENT_SCHEMA_VERSION + "\n" +
+                "streams:\n" +
+                "  - groupId: org.foo\n" +
+                "    artifactId: foo\n" +
+                "    version: \"25.0.0.Final\"";
+
+        MavenVersionsResolver.Factory factory = mock(MavenVersionsResolver.Factory.class);
+        MavenVersionsResolver resolver = mock(MavenVersionsResolver.class);
+        File resolvedArtifactFile = mock(File.class);
+        final List<String> downloadThreads = Collections.synchronizedList(new ArrayList<>());
+
+        when(factory.create(any())).thenReturn(resolver);
+        when(resolver.resolveArtifacts(any())).thenAnswer(invocationOnMock -> {
+            downloadThreads.add(Thread.currentThread().getName());
+            return List.of(resolvedArtifactFile);
+        });
+
+        final List<Channel> channels = mockChannel(resolver, tempDir, manifest);
+        final List<ArtifactCoordinate> coordinates = List.of(new ArtifactCoordinate("org.foo", "foo", null, null, "1.0.0"));
+        final ExecutorService executor = Executors.newFixedThreadPool(2, r -> new Thread(r, "shared-resolver-thread"));
+
+        try {
+            // the same executor can be shared by several sessions
+            for (int i = 0; i < 2; i++) {
+                try (ChannelSession session = new ChannelSession(channels, factory, executor)) {
+                    List<MavenArtifact> resolved = session.resolveMavenArtifacts(coordinates);
+                    assertEquals(List.of(new MavenArtifact("org.foo", "foo", null, null, "25.0.0.Final", resolvedArtifactFile, "channel-0")), resolved);
+                }
+                assertFalse(executor.isShutdown(), "The session must not shut down the provided executor");
+            }
+            assertEquals(List.of("shared-resolver-thread", "shared-resolver-thread"), downloadThreads);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testClosedSessionDoesNotCreateExecutors() throws Exception {
+        String manifest = "schemaVersion: " + CURRENT_SCHEMA_VERSION + "\n" +
+                "streams:\n" +
+                "  - groupId: org.foo\n" +
+                "    artifactId: foo\n" +
+                "    version: \"25.0.0.Final\"";
+
+        MavenVersionsResolver.Factory factory = mock(MavenVersionsResolver.Factory.class);
+        MavenVersionsResolver resolver = mock(MavenVersionsResolver.class);
+        when(factory.create(any())).thenReturn(resolver);
+        when(resolver.resolveArtifacts(any())).thenReturn(List.of(mock(File.class)));
+
+        final List<Channel> channels = mockChannel(resolver, tempDir, manifest);
+        final List<ArtifactCoordinate> coordinates = List.of(new ArtifactCoordinate("org.foo", "foo", null, null, "1.0.0"));
+
+        final ChannelSession session = new ChannelSession(channels, factory);
+        session.resolveMavenArtifacts(coordinates);
+        session.close();
+        Assertions.assertThrows(IllegalStateException.class, () -> session.resolveMavenArtifacts(coordinates));
+        Assertions.assertThrows(IllegalStateException.class, () -> session.plan(coordinates));
+
+        // a lazy session closed before its first use is not initialized
+        final ChannelSession lazySession = new ChannelSession.Builder(channels, factory)
+                .setLazyInitialization(true)
+                .build();
+        lazySession.close();
+        Assertions.assertThrows(IllegalStateException.class, lazySession::getRuntimeChannels);
+        final CompletionException failure = Assertions.assertThrows(CompletionException.class,
+                () -> lazySession.resolveMavenArtifactsAsync(coordinates, Runnable::run).join());
+        assertTrue(failure.getCause() instanceof IllegalStateException);
+    }
+
+
+    @Test
+    public void testConcurrentRequestsPerRepositoryAreLimited() throws Exception {
+        final int artifactCount = SEVERAL_BATCHES_OF_ARTIFACTS;
+        String manifest = "schemaVersion: " + CURRENT_SCHEMA_VERSION + "\n" +
+                "streams:\n" +
+                "  - groupId: org.foo\n" +
+                "    artifactId: '*'\n" +
+                "    versionPattern: '1\\..*'";
+
+        MavenVersionsResolver.Factory factory = mock(MavenVersionsResolver.Factory.class);
+        MavenVersionsResolver resolver = mock(MavenVersionsResolver.class);
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        // the wildcard stream of the manifest provides the artifacts
+        final List<ArtifactCoordinate> coordinates = manifestWithArtifacts(artifactCount).coordinates;
+
+        when(factory.create(any())).thenReturn(resolver);
+        when(resolver.getAllVersions(eq("org.foo"), anyString(), any(), any())).thenAnswer(invocationOnMock -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(10);
+            inFlight.decrementAndGet();
+            return new HashSet<>(Set.of("1.0.0", "1.0.1"));
+        });
+        when(resolver.resolveArtifacts(any())).thenAnswer(invocationOnMock -> {
+            List<ArtifactCoordinate> coords = invocationOnMock.getArgument(0);
+            return coords.stream().map(c -> new File(c.getArtifactId())).collect(Collectors.toList());
+        });
+
+        final List<Channel> channels = mockChannel(resolver, tempDir, manifest).stream()
+                .map(c -> new Channel.Builder(c).addRepository("test", "http://test.repo").build())
+                .collect(Collectors.toList());
+
+        // virtual threads are used only on Java 21+, otherwise the session falls back to a fixed number of threads
+        try (ChannelSession session = new ChannelSession.Builder(channels, factory)
+                .setVirtualThreads(true)
+                .setMaxConcurrentRequestsPerRepository(2)
+                .build()) {
+            List<MavenArtifact> resolved = session.resolveMavenArtifacts(coordinates);
+
+            assertEquals(artifactCount, resolved.size());
+            assertTrue(resolved.stream().allMatch(a -> a.getVersion().equals("1.0.1")));
+            assertTrue(maxInFlight.get() <= 2, "At most 2 concurrent requests expected, but got " + maxInFlight.get());
+        }
+
+        verify(resolver, times(1)).close();
+    }
+
+
+    @Test
+    public void testConcurrentChannelLookup() throws Exception {
+        String manifest = "schemaVersion: " + CURRENT_SCHEMA_VERSION + "\n" +
+                "streams:\n" +
+                "  - groupId: org.foo\n" +
+                "    artifactId: foo\n" +
+                "    versionPattern: '1\\..*'";
+
+        MavenVersionsResolver.Factory factory = mock(MavenVersionsResolver.Factory.class);
+        MavenVersionsResolver resolver = mock(MavenVersionsResolver.class);
+        // every channel waits for the other ones, the lookup can complete only if all the channels are queried at the same time
+        final CountDownLatch allChannelsQueried = new CountDownLatch(3);
+
+        when(factory.create(any())).thenReturn(resolver);
+        when(resolver.getAllVersions("org.foo", "foo", null, null)).thenAnswer(invocationOnMock -> {
+            allChannelsQueried.countDown();
+            if (!allChannelsQueried.await(10, TimeUnit.SECONDS)) {
+                throw new RuntimeException("The channels were not queried concurrently");
+            }
+            return new HashSet<>(Set.of("1.0.0", "1.0.1"));
+        });
+
+        final List<Channel> channels = mockChannel(resolver, tempDir, manifest, manifest, manifest);
+
+        try (ChannelSession session = new ChannelSession.Builder(channels, factory)
+                .setConcurrentChannelLookup(true)
+                .build()) {
+            VersionResult version = session.findLatestMavenArtifactVersion("org.foo", "foo", null, null, null);
+
+            assertEquals("1.0.1", version.getVersion());
+            // all the channels provide the same version, the last channel is used as in a sequential lookup
+            assertEquals(Optional.of("channel-2"), version.getChannelName());
+        }
+
+        verify(resolver, times(3)).close();
+    }
+
+
     private static void assertContainsAll(List<MavenArtifact> expected, List<MavenArtifact> actual) {
         List<MavenArtifact> testList = new ArrayList<>(expected);
         for (MavenArtifact a : actual) {
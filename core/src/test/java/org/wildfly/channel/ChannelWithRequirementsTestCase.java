@@ -22,6 +22,8 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
@@ -572,6 +574,54 @@ public class ChannelWithRequirementsTestCase {
         mockManifest(resolver, manifestFile.toUri().toURL(), gav);
     }
 
+    /**
+     * Test that fixed versions of the required channels are found without querying the repositories, while version
+     * patterns still query them
+     */
+    @Test
+    public void testFixedVersionsOfRequiredChannelsAreIndexed() throws Exception {
+        MavenVersionsResolver.Factory factory = mock(MavenVersionsResolver.Factory.class);
+        MavenVersionsResolver resolver = mock(MavenVersionsResolver.class);
+        File resolvedArtifactFile = mock(File.class);
+
+        when(factory.create(any())).thenReturn(resolver);
+        when(resolver.resolveArtifact(eq("org.example"), any(), eq(null), eq(null), any())).thenReturn(resolvedArtifactFile);
+        when(resolver.getAllVersions("org.example", "bar", null, null))
+                .thenReturn(new HashSet<>(Arrays.asList("1.0.0.Final", "1.2.0.Final", "2.0.0.Final")));
+
+        mockManifest(resolver, "schemaVersion: " + ChannelManifestMapper.CURRENT_SCHEMA_VERSION + "\n" +
+                "id: left-manifest\n" +
+                "streams:\n" +
+                "  - groupId: org.example\n" +
+                "    artifactId: foo\n" +
+                "    version: 1.0.0.Final\n" +
+                "  - groupId: org.example\n" +
+                "    artifactId: bar\n" +
+                "    versionPattern: '1\\..*'", "org.test:left-manifest:1.0.0");
+        mockManifest(resolver, ChannelManifestMapper.toYaml(new ManifestBuilder()
+                .setId("right-manifest")
+                .addStream("org.example", "foo", "1.1.0.Final")
+                .build()), "org.test:right-manifest:1.0.0");
+        mockManifest(resolver, ChannelManifestMapper.toYaml(new ManifestBuilder()
+                .addRequires("left-manifest", "org.test", "left-manifest", "1.0.0")
+                .addRequires("right-manifest", "org.test", "right-manifest", "1.0.0")
+                .build()), "org.test:base-manifest:1.0.0");
+
+        List<Channel> channels = List.of(new Channel.Builder()
+                .setManifestCoordinate("org.test", "base-manifest", "1.0.0")
+                .addRepository("test", "test")
+                .build());
+
+        try (ChannelSession session = new ChannelSession(channels, factory)) {
+            assertEquals("1.1.0.Final", session.resolveMavenArtifact("org.example", "foo", null, null, "0").getVersion());
+            verify(resolver, never()).getAllVersions(eq("org.example"), eq("foo"), any(), any());
+
+            assertEquals("1.2.0.Final", session.resolveMavenArtifact("org.example", "bar", null, null, "0").getVersion());
+            Assertions.assertThrows(NoStreamFoundException.class, () ->
+                    session.resolveMavenArtifact("org.example", "idontexist", null, null, "0"));
+        }
+    }
+
     @Test
     public void testRequiredChannelIgnoresNoStreamStrategy() throws Exception {
         MavenVersionsResolver.Factory factory = mock(MavenVersionsResolver.Factory.class);
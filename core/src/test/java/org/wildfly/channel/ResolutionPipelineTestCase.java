@@ -0,0 +1,66 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class ResolutionPipelineTestCase {
+
+    @Test
+    public void testAbortInterruptsTheResolutionEvenIfTheFailureCannotBeCreated() throws Exception {
+        final CountDownLatch lookupStarted = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // a version lookup stuck until it is interrupted
+            final ResolutionPipeline pipeline = new ResolutionPipeline(coord -> {
+                lookupStarted.countDown();
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                throw new IllegalStateException("Interrupted");
+            }, executor, 20, artifact -> {});
+            final CompletableFuture<Void> resolution = pipeline.resolve(List.of(new ArtifactCoordinate("org.foo", "foo", null, null, "1.0.0")));
+            assertTrue(lookupStarted.await(10, TimeUnit.SECONDS));
+
+            final RuntimeException failure = new RuntimeException("The failure cannot be created");
+            pipeline.abort(unresolved -> {
+                throw failure;
+            });
+
+            assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+            final ExecutionException e = assertThrows(ExecutionException.class, () -> resolution.get(10, TimeUnit.SECONDS));
+            assertSame(failure, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -33,12 +33,15 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.lang3.RandomUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.wildfly.channel.spi.ArtifactIdentifier;
+import org.wildfly.channel.spi.ArtifactResolutionResult;
 import org.wildfly.channel.spi.MavenVersionsResolver;
 import org.wildfly.channel.spi.SignatureResult;
 import org.wildfly.channel.spi.SignatureValidator;
@@ -163,6 +166,25 @@ class SignedVersionResolverWrapperTest {
         verify(signatureValidator).validateSignature(any(), any(), any(), any());
     }
 
+    @Test
+    public void onlyResolvedArtifactsAreValidated() throws Exception {
+        final ArtifactCoordinate resolvedArtifact = new ArtifactCoordinate(ARTIFACT.groupId, ARTIFACT.artifactId, ARTIFACT.extension,
+                ARTIFACT.classifier, ARTIFACT.version);
+        final ArtifactCoordinate missingArtifact = new ArtifactCoordinate("org.example", "missing", "jar", null, "1.0.0.Final");
+        when(resolver.resolveAvailableArtifacts(List.of(resolvedArtifact, missingArtifact)))
+                .thenReturn(new ArtifactResolutionResult(Map.of(resolvedArtifact, resolvedArtifactFile), Set.of(missingArtifact)));
+        when(resolver.resolveArtifacts(List.of(new ArtifactCoordinate(ARTIFACT.groupId, ARTIFACT.artifactId,
+                ARTIFACT.extension + SIGNATURE_FILE_SUFFIX, ARTIFACT.classifier, ARTIFACT.version))))
+                .thenReturn(List.of(signatureFile));
+        when(signatureValidator.validateSignature(eq(ARTIFACT), any(), any(), any())).thenReturn(SignatureResult.ok());
+
+        final ArtifactResolutionResult result = signedResolver.resolveAvailableArtifacts(List.of(resolvedArtifact, missingArtifact));
+
+        assertEquals(Map.of(resolvedArtifact, resolvedArtifactFile), result.getResolved());
+        assertEquals(Set.of(missingArtifact), result.getUnresolved());
+        verify(signatureValidator).validateSignature(eq(ARTIFACT), any(), any(), any());
+    }
+
     private void mockManifest(MavenVersionsResolver resolver, ChannelManifest manifest, String gav) throws IOException {
 
         mockManifest(resolver, ChannelManifestMapper.toYaml(manifest), gav);
@@ -29,10 +29,13 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.util.Collection;
+import java.util.Optional;
 import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.wildfly.channel.ChannelManifestMapper.CURRENT_SCHEMA_VERSION;
 
@@ -129,4 +132,53 @@ public class ChannelManifestTestCase {
         assertFalse(manifest.getStreams().contains(new Stream("b", "b", "1")));
         assertFalse(manifest.getStreams().contains(new Stream("b", "b", Pattern.compile(".*"))));
     }
+
+    @Test
+    public void findStreamForPrefersExactMatchOverWildcard() {
+        final ChannelManifest manifest = new ChannelManifest.Builder()
+                .addStreams(new Stream("org.foo", "*", "1.0.0"))
+                .addStreams(new Stream("org.foo", "foo", "2.0.0"))
+                .addStreams(new Stream("org.foo", "foo", "3.0.0"))
+                .addStreams(new Stream("org.bar", "bar", "4.0.0"))
+                .build();
+
+        final Optional<Stream> firstFoo = manifest.getStreams().stream()
+                .filter(s -> s.getGroupId().equals("org.foo") && s.getArtifactId().equals("foo"))
+                .findFirst();
+        assertEquals(firstFoo, manifest.findStreamFor("org.foo", "foo"));
+        assertEquals(Optional.of(new Stream("org.foo", "*", "1.0.0")), manifest.findStreamFor("org.foo", "other"));
+        assertEquals(Optional.of(new Stream("org.bar", "bar", "4.0.0")), manifest.findStreamFor("org.bar", "bar"));
+        assertEquals(Optional.empty(), manifest.findStreamFor("org.bar", "other"));
+        assertEquals(Optional.empty(), manifest.findStreamFor("org.other", "foo"));
+    }
+
+    @Test
+    public void manifestsShareStreamIdentifiersAndMatchers() {
+        final String yaml = "schemaVersion: " + CURRENT_SCHEMA_VERSION + "\n" +
+                "streams:\n" +
+                "  - groupId: org.foo\n" +
+                "    artifactId: foo\n" +
+                "    version: 1.0.0.Final\n" +
+                "  - groupId: org.foo\n" +
+                "    artifactId: bar\n" +
+                "    versionPattern: '1\\.0\\..*'";
+        final ChannelManifest manifest1 = ChannelManifestMapper.fromString(yaml);
+        final ChannelManifest manifest2 = ChannelManifestMapper.fromString(yaml);
+
+        final Stream foo1 = manifest1.findStreamFor("org.foo", "foo").get();
+        final Stream foo2 = manifest2.findStreamFor("org.foo", "foo").get();
+        assertSame(foo1.getGroupId(), foo2.getGroupId());
+        assertSame(foo1.getVersion(), foo2.getVersion());
+        // the matcher of a fixed version is created once per stream
+        assertSame(foo1.getVersionComparator(), foo1.getVersionComparator());
+
+        final Stream bar1 = manifest1.findStreamFor("org.foo", "bar").get();
+        final Stream bar2 = manifest2.findStreamFor("org.foo", "bar").get();
+        assertSame(bar1.getVersionPattern(), bar2.getVersionPattern());
+        assertSame(bar1.getVersionComparator(), bar2.getVersionComparator());
+
+        assertEquals(manifest1, manifest2);
+        assertTrue(manifest1.getStreams().contains(new Stream("org.foo", "bar", Pattern.compile("1\\.0\\..*"))));
+        assertThrows(UnsupportedOperationException.class, () -> manifest1.getStreams().clear());
+    }
 }
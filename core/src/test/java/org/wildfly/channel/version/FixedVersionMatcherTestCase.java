@@ -35,6 +35,15 @@ public class FixedVersionMatcherTestCase {
         return matcher.matches(samples);
     }
 
+    @Test
+    public void testFixedVersionWithFilter() {
+        Set<String> samples = new HashSet<>(asList("1.0.0.Final", "2.0.0.Final"));
+        VersionMatcher matcher = new FixedVersionMatcher("2.0.0.Final");
+
+        assertEquals(Optional.of("2.0.0.Final"), matcher.matches(samples, v -> true));
+        assertEquals(Optional.empty(), matcher.matches(samples, v -> !v.equals("2.0.0.Final")));
+    }
+
     @Test
     public void testFixedVersionIsFound() {
         Set<String> samples = new HashSet<>(asList(
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel.version;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+public class LiteralAffixesTestCase {
+
+    private static final List<String> VERSIONS = List.of(
+            "1.0", "1.0.0.Final", "1.0.1.Final", "1.0.1.SP1", "1.1.0.Final", "2.0.0.Beta1", "2.16.0.Final",
+            "2.16.1.redhat-00001", "2.16.1.Final-redhat-00002", "5.0.1.Final", "5.0.10.Final", "5.0.1.Final-jbossorg-1",
+            "10.0.0.FINAL", "1x0", "1.0?", "a+b", "", "\uD83D\uDE00.1");
+
+    @Test
+    public void testLiteralPrefixAndSuffix() {
+        assertAffixes("5\\.0\\.1\\..*", "5.0.1.", "");
+        assertAffixes("2\\.16\\..*Final", "2.16.", "Final");
+        assertAffixes("^2\\.16\\..*Final$", "2.16.", "Final");
+        assertAffixes("1\\..\\..*Final-jbossorg-\\d+", "1.", "");
+        assertAffixes(".*-redhat-\\d{5}", "", "");
+        assertAffixes(".*\\.Final", "", ".Final");
+        assertAffixes("1\\.0", "1.0", "1.0");
+        assertAffixes("1\\.0\\.[0-9]+\\.Final", "1.0.", ".Final");
+        assertAffixes("2\\.16\\.(0|1)\\.Final", "2.16.", ".Final");
+        assertAffixes("2\\.16\\.(?:0|1)\\.Final", "2.16.", ".Final");
+        assertAffixes("[]a]\\.Final", "", ".Final");
+    }
+
+    @Test
+    public void testQuantifiedLiteralsAreNotRequired() {
+        assertAffixes("1\\.0?", "1.", "");
+        assertAffixes("1\\.0*\\.Final", "1.", ".Final");
+        assertAffixes("1\\.0+?\\.Final", "1.", ".Final");
+        assertAffixes("1\\.0{1,2}\\.Final", "1.", ".Final");
+        assertAffixes("1\\.(0\\.)?Final", "1.", "Final");
+        assertAffixes("\uD83D\uDE00?\\.1", "", ".1");
+    }
+
+    @Test
+    public void testComplexPatternsHaveNoAffixes() {
+        assertSame(LiteralAffixes.NONE, LiteralAffixes.of(Pattern.compile(".*")));
+        assertSame(LiteralAffixes.NONE, LiteralAffixes.of(Pattern.compile("1\\.0\\..*|2\\.0\\..*")));
+        assertSame(LiteralAffixes.NONE, LiteralAffixes.of(Pattern.compile("(?i)1\\.0\\..*final")));
+        assertSame(LiteralAffixes.NONE, LiteralAffixes.of(Pattern.compile("1\\.0\\..*final", Pattern.CASE_INSENSITIVE)));
+        assertSame(LiteralAffixes.NONE, LiteralAffixes.of(Pattern.compile("\\Q1.0\\E.*")));
+        assertSame(LiteralAffixes.NONE, LiteralAffixes.of(Pattern.compile("1\\.0\\.(\\Q)\\E).*")));
+        assertSame(LiteralAffixes.NONE, LiteralAffixes.of(Pattern.compile("\\x31\\.0")));
+    }
+
+    @Test
+    public void testAffixesDoNotRejectMatchingVersions() {
+        final List<String> patterns = List.of(
+                "5\\.0\\.1\\..*", "2\\.16\\..*Final", "1\\.0", "1\\.0?", "1\\.0.*", "1.0", "1\\.0\\?", "a\\+b", "a+b",
+                ".*-redhat-\\d{5}", "2\\.16\\.1\\.(Final-)?redhat-.*", "(1|2)\\..*", "1\\..\\..*\\.(Final|SP1)",
+                "[12]\\.0\\..*", "\\d+\\.0\\.0\\.[A-Z]+", "10\\.0\\.0\\.(?i:final)", "1\\.0\\.1\\..*$", "^1\\..*",
+                "\uD83D\uDE00\\.1", "\uD83D\uDE00?\\.1", ".*", "");
+        for (String regex : patterns) {
+            final Pattern pattern = Pattern.compile(regex);
+            final LiteralAffixes affixes = LiteralAffixes.of(pattern);
+            for (String version : VERSIONS) {
+                if (pattern.matcher(version).matches()) {
+                    assertTrue(affixes.mayMatch(version), regex + " rejects " + version);
+                }
+            }
+        }
+    }
+
+    private static void assertAffixes(String regex, String prefix, String suffix) {
+        final LiteralAffixes affixes = LiteralAffixes.of(Pattern.compile(regex));
+        assertEquals(prefix, affixes.getPrefix(), regex);
+        assertEquals(suffix, affixes.getSuffix(), regex);
+    }
+}
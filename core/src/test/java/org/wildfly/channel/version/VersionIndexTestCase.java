@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel.version;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+public class VersionIndexTestCase {
+
+    private static final Set<String> VERSIONS = Set.of("1.0.0.Final", "1.0.1.Final", "1.1.0.Final", "1.1.0.SP1",
+            "2.0.0.Beta1", "2.0.0.Final", "10.0.0.Final");
+
+    @Test
+    public void testVersionsAreSorted() {
+        final VersionIndex index = VersionIndex.of(VERSIONS);
+
+        final List<String> descending = new ArrayList<>();
+        index.descendingIterator().forEachRemaining(descending::add);
+        final List<String> expected = new ArrayList<>(VERSIONS);
+        expected.sort(VersionMatcher.COMPARATOR.reversed());
+        assertEquals(expected, descending);
+
+        assertEquals(VERSIONS.size(), index.size());
+        assertTrue(index.contains("1.1.0.SP1"));
+        assertFalse(index.contains("1.1.0"));
+        assertEquals(VERSIONS, index);
+
+        // equivalent for the COMPARATOR, they are both kept
+        assertEquals(0, VersionMatcher.COMPARATOR.compare("01:1", "1:01"));
+        assertEquals(Set.of("01:1", "1:01"), VersionIndex.of(Set.of("01:1", "1:01")));
+    }
+
+    @Test
+    public void testLatestVersionIsFoundFromTheLatestVersion() {
+        final VersionIndex index = VersionIndex.of(VERSIONS);
+        final AtomicInteger evaluated = new AtomicInteger();
+        final Predicate<String> filter = v -> {
+            evaluated.incrementAndGet();
+            return v.startsWith("2.");
+        };
+
+        assertEquals(Optional.of("2.0.0.Final"), index.getLatestVersion(filter));
+        assertEquals(2, evaluated.get());
+        assertEquals(VersionMatcher.getLatestVersion(VERSIONS, filter), VersionMatcher.getLatestVersion(index, filter));
+        assertEquals(Optional.of("1.1.0.SP1"), new VersionPatternMatcher(Pattern.compile("1\\.1\\..*")).matches(index));
+        assertEquals(Optional.empty(), index.getLatestVersion(v -> false));
+    }
+
+    @Test
+    public void testIncomparableVersionsAreOnlyComparedWhenAccepted() {
+        final VersionIndex index = VersionIndex.of(Set.of("1.0.0", "2.0.0", "foo:1"));
+
+        assertEquals(Optional.of("2.0.0"), index.getLatestVersion(v -> !v.startsWith("foo")));
+        assertEquals(Optional.of("foo:1"), index.getLatestVersion(v -> v.startsWith("foo")));
+        assertThrows(NumberFormatException.class, () -> index.getLatestVersion(v -> true));
+
+        final Iterator<String> descending = index.descendingIterator();
+        assertEquals("2.0.0", descending.next());
+        assertEquals("1.0.0", descending.next());
+        assertEquals("foo:1", descending.next());
+        assertFalse(descending.hasNext());
+    }
+}
@@ -17,6 +17,7 @@
 package org.wildfly.channel.version;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.wildfly.channel.version.VersionMatcher.getLatestVersion;
 
@@ -157,6 +158,14 @@ public class VersionMatcherTestCase {
                 "1:1.1", "2:1.1");
     }
 
+    @Test
+    public void testLatestVersionWithFilter() {
+        final Set<String> versions = Set.of("1.0.0.Final", "1.1.0.Final", "2.0.0.Final");
+        assertEquals("1.1.0.Final", getLatestVersion(versions, v -> !v.equals("2.0.0.Final")).get());
+        assertFalse(getLatestVersion(versions, v -> false).isPresent());
+        assertFalse(getLatestVersion(Set.of()).isPresent());
+    }
+
     private static void assertLatestVersion(String expectedLatest, String... versions) {
         assertEquals(expectedLatest, getLatestVersion(Set.of(versions)).get());
     }
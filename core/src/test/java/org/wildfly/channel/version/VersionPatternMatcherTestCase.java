@@ -30,6 +30,21 @@ import org.junit.jupiter.api.Test;
 
 public class VersionPatternMatcherTestCase {
 
+    @Test
+    public void testVersionPatternWithFilter() {
+        Set<String> samples = new HashSet<>(asList(
+                "1.0.0.Final",
+                "1.0.1.Final",
+                "1.0.2.Final",
+                "2.0.0.Final"));
+        VersionMatcher matcher = new VersionPatternMatcher(Pattern.compile("1\\.0\\..*"));
+
+        assertEquals(Optional.of("1.0.1.Final"), matcher.matches(samples, v -> !v.equals("1.0.2.Final")));
+        assertEquals(Optional.empty(), matcher.matches(samples, v -> v.startsWith("2.")));
+        // the samples are not modified
+        assertEquals(4, samples.size());
+    }
+
     @Test
     public void testVersionPattern() {
         Set<String> samples = new HashSet<>(asList(
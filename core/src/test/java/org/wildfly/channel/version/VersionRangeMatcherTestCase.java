@@ -0,0 +1,142 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel.version;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class VersionRangeMatcherTestCase {
+
+    private static final Set<String> VERSIONS = Set.of(
+            "2.14.3.Final",
+            "2.15",
+            "2.15.0.Final",
+            "2.15.2.Final",
+            "2.16.0.Beta1",
+            "2.16.1.Final",
+            "2.16.1.SP1-redhat-00001",
+            "2.17",
+            "2.17.0.Alpha1",
+            "3.0.0.Final");
+
+    @Test
+    public void testVersionRange() {
+        assertMatches("[2.15,2.17)", "2.16.1.SP1-redhat-00001");
+        assertMatches("[2.15,2.17]", "2.17");
+        assertMatches("(2.15,2.16)", "2.15.2.Final");
+        assertMatches("(2.15.2.Final,2.16.0.Beta1)", null);
+        assertMatches("[2.15.2.Final,2.16.0.Beta1]", "2.16.0.Beta1");
+        assertMatches("[2.15,)", "3.0.0.Final");
+        assertMatches("(,2.15)", "2.14.3.Final");
+        assertMatches("(,2.15]", "2.15");
+        assertMatches("[2.15.0.Final]", "2.15.0.Final");
+        assertMatches("[2.15.1.Final]", null);
+        assertMatches("[4,)", null);
+        // qualified versions follow the release
+        assertMatches("[2.17,2.17]", "2.17");
+        assertMatches("(2.17,3)", "2.17.0.Alpha1");
+    }
+
+    @Test
+    public void testMultipleRanges() {
+        assertMatches("(,2.15),[2.16,2.17)", "2.16.1.SP1-redhat-00001");
+        assertMatches("[2.16,2.17), (,2.15)", "2.16.1.SP1-redhat-00001");
+        assertMatches("(,2.15),[4,)", "2.14.3.Final");
+        assertMatches("[2.15.0.Final],[2.15.2.Final]", "2.15.2.Final");
+    }
+
+    @Test
+    public void testVersionRangeWithFilter() {
+        final VersionRangeMatcher matcher = new VersionRangeMatcher("[2.15,2.17)");
+        final Predicate filter = new Predicate("2.16.1.SP1-redhat-00001", "2.16.1.Final");
+
+        assertEquals(Optional.of("2.16.0.Beta1"), matcher.matches(VERSIONS, filter));
+        assertEquals(Optional.of("2.16.0.Beta1"), matcher.matches(VersionIndex.of(VERSIONS), filter));
+    }
+
+    @Test
+    public void testVersionsOutsideTheRangeAreSkipped() {
+        final VersionRangeMatcher matcher = new VersionRangeMatcher("[2.15,2.16)");
+        final Predicate filter = new Predicate("2.15.2.Final");
+
+        assertEquals(Optional.of("2.15.0.Final"), matcher.matches(VersionIndex.of(VERSIONS), filter));
+        // 2.15.2.Final and 2.15.0.Final
+        assertEquals(2, filter.evaluations.get());
+    }
+
+    @Test
+    public void testIncomparableVersions() {
+        // the epoch cannot be compared
+        final Set<String> versions = new HashSet<>(VERSIONS);
+        versions.add("99999999999:1.0");
+
+        final VersionRangeMatcher matcher = new VersionRangeMatcher("[2.15,)");
+        assertFalse(matcher.contains("99999999999:1.0"));
+        assertEquals(Optional.of("3.0.0.Final"), matcher.matches(versions));
+        assertEquals(Optional.of("3.0.0.Final"), matcher.matches(VersionIndex.of(versions)));
+    }
+
+    @Test
+    public void testContains() {
+        final VersionRangeMatcher matcher = new VersionRangeMatcher("[2.15,2.17)");
+
+        assertTrue(matcher.contains("2.15"));
+        assertTrue(matcher.contains("2.16.1.Final"));
+        assertFalse(matcher.contains("2.14.3.Final"));
+        assertFalse(matcher.contains("2.17"));
+        assertFalse(matcher.contains("2.17.0.Alpha1"));
+    }
+
+    @Test
+    public void testInvalidVersionRange() {
+        for (String range : new String[]{"", "2.15", "[2.15", "2.15]", "[2.17,2.15)", "(2.15,2.15)", "[2.15,2.16,2.17]",
+                "(2.15)", "[]", "[2.15,2.17),", "[2.15,2.17) [3,4)"}) {
+            assertThrows(IllegalArgumentException.class, () -> new VersionRangeMatcher(range), range);
+        }
+    }
+
+    private static void assertMatches(String range, String expected) {
+        final VersionRangeMatcher matcher = new VersionRangeMatcher(range);
+
+        assertEquals(Optional.ofNullable(expected), matcher.matches(VERSIONS), range);
+        assertEquals(Optional.ofNullable(expected), matcher.matches(VersionIndex.of(VERSIONS)), range);
+    }
+
+    private static class Predicate implements java.util.function.Predicate<String> {
+        private final Set<String> rejected;
+        private final AtomicInteger evaluations = new AtomicInteger();
+
+        private Predicate(String... rejected) {
+            this.rejected = Set.of(rejected);
+        }
+
+        @Override
+        public boolean test(String version) {
+            evaluations.incrementAndGet();
+            return !rejected.contains(version);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.channel.version;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.wildfly.channel.version.VersionMatcher.COMPARATOR;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class VersionTestCase {
+
+    private static final List<String> VERSIONS = List.of(
+            "1", "2", "10", "1.0", "1.0.0", "1.0.0.Final", "1.0.0.Beta1", "1.0.0.CR2", "1.0.0.GA", "1.0.1.GA",
+            "26.0.0.Final", "26.0.1.Final", "27.0.0.Alpha1", "2.2.19.SP1-redhat-00001", "2.2.19.SP2-redhat-00001",
+            "2.1.9.redhat-001", "2.1.9.redhat-1", "1.01", "1.1", "01", "0", "0.0", "1.0.0-SNAPSHOT", "A", "Z", "a",
+            "0:1", "1:1", "01:1", "1:01", "10:1.0", "1:1.0.0.Final", "1.0.x", "1.0.0.0", "202109080827", "202009080827",
+            "", ".", "-", "1-", "1..0", "1.0.\u0663", "9223372036854775807", "4294967296", "0.4294967297", "1.4294967297");
+
+    @Test
+    public void testSameOrderAsComparator() {
+        for (String v1 : VERSIONS) {
+            for (String v2 : VERSIONS) {
+                assertSameOrder(v1, v2);
+            }
+        }
+    }
+
+    @Test
+    public void testSameOrderAsComparatorForRandomVersions() {
+        final Random random = new Random(42);
+        final String chars = "0001119.....-:aAZ";
+        final List<String> versions = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            final StringBuilder version = new StringBuilder();
+            final int length = random.nextInt(10);
+            for (int j = 0; j < length; j++) {
+                version.append(chars.charAt(random.nextInt(chars.length())));
+            }
+            versions.add(version.toString());
+        }
+        for (String v1 : versions) {
+            for (String v2 : versions) {
+                int expected;
+                try {
+                    expected = Integer.signum(COMPARATOR.compare(v1, v2));
+                } catch (NumberFormatException e) {
+                    assertThrows(NumberFormatException.class, () -> Version.parse(v1).compareTo(Version.parse(v2)));
+                    continue;
+                }
+                assertEquals(expected, Integer.signum(Version.parse(v1).compareTo(Version.parse(v2))), v1 + " <> " + v2);
+            }
+        }
+    }
+
+    @Test
+    public void testVersionsNotComparedByComparator() {
+        // invalid epoch
+        assertThrows(NumberFormatException.class, () -> Version.parse("foo:1").compareTo(Version.parse("1")));
+        // numeric segment overflowing a long
+        assertThrows(NumberFormatException.class, () -> Version.parse("1.99999999999999999999").compareTo(Version.parse("1.1")));
+        // but the overflowing segment is not reached
+        assertEquals(Integer.signum(COMPARATOR.compare("2.99999999999999999999", "1.1")),
+                Integer.signum(Version.parse("2.99999999999999999999").compareTo(Version.parse("1.1"))));
+    }
+
+    @Test
+    public void testParsedVersion() {
+        assertEquals("1.0.0.Final", Version.parse("1.0.0.Final").toString());
+        assertEquals(Version.parse("1.0.0.Final"), Version.parse("1.0.0.Final"));
+        assertEquals(0, Version.parse("1.0.0.Final").compareTo(Version.parse("1.0.0.Final")));
+    }
+
+    private static void assertSameOrder(String v1, String v2) {
+        assertEquals(Integer.signum(COMPARATOR.compare(v1, v2)), Integer.signum(Version.parse(v1).compareTo(Version.parse(v2))),
+                v1 + " <> " + v2);
+    }
+}
@@ -18,6 +18,7 @@ package org.wildfly.channel.maven;
 
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
 import org.eclipse.aether.resolution.VersionRangeResult;
 import org.eclipse.aether.transfer.MetadataTransferException;
 import org.jboss.logging.Logger;
@@ -80,6 +81,33 @@ class RetryHandler {
         }
     }
 
+    /**
+     * attempts to resolved artifacts using {@code supplier}. If ArtifactResolutionException is thrown, perform retries.
+     * Once the number of retries is exceeded, the results of the last attempt are returned, including the results of the failed artifacts.
+     *
+     * @param supplier - performs artifact resolution
+     * @param mapper - maps {@code ArtifactResolutionException} to a set of failed {@code ArtifactCoordinate}s
+     * @param attemptedRepos - repositories used by {@code supplier}
+     * @return results of the last attempt, in the same order as the requests
+     */
+    List<ArtifactResult> attemptResolveAvailable(ResultsSupplier supplier,
+                                                 Function<ArtifactResolutionException, Set<ArtifactCoordinate>> mapper,
+                                                 Set<Repository> attemptedRepos) {
+        final RetryCounter retryCounter = new RetryCounter(attemptedRepos);
+        while (true) {
+            try {
+                return supplier.get();
+            } catch (ArtifactResolutionException ex) {
+                final Set<ArtifactCoordinate> failed = mapper.apply(ex);
+
+                if (!retryCounter.tryRetry(failed, ex)) {
+                    LOG.debug("Max retry count reached, returning partially resolved artifacts");
+                    return ex.getResults();
+                }
+            }
+        }
+    }
+
     /**
      * attempts to resolved artifact versions using {@code supplier}. If a MetadataTransferException occurs during resolution, perform retries.
      *
@@ -128,6 +156,16 @@ class RetryHandler {
         }
 
         private void addRetry(Set<ArtifactCoordinate> failed, Exception ex) throws ArtifactTransferException {
+            if (!tryRetry(failed, ex)) {
+                LOG.debug("Max retry count reached, failed to resolve artifacts");
+                throw new ArtifactTransferException(ex.getLocalizedMessage(), ex, failed, attemptedRepos);
+            }
+        }
+
+        /**
+         * @return {@code false} if the number of retries is exceeded
+         */
+        private boolean tryRetry(Set<ArtifactCoordinate> failed, Exception ex) throws ArtifactTransferException {
             if (!lastFailed.equals(failed)) {
                 LOG.debugf("Resetting retry counter. The set of failing artifacts changed");
                 // reset retry counter
@@ -146,9 +184,9 @@ class RetryHandler {
                         throw new ArtifactTransferException(ex.getLocalizedMessage(), e, failed, attemptedRepos);
                     }
                 }
+                return true;
             } else {
-                LOG.debug("Max retry count reached, failed to resolve artifacts");
-                throw new ArtifactTransferException(ex.getLocalizedMessage(), ex, failed, attemptedRepos);
+                return false;
             }
         }
 
@@ -157,4 +195,8 @@ class RetryHandler {
     interface Supplier {
         List<File> get() throws ArtifactResolutionException;
     }
+
+    interface ResultsSupplier {
+        List<ArtifactResult> get() throws ArtifactResolutionException;
+    }
 }
@@ -26,7 +26,10 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -62,6 +65,7 @@ import org.wildfly.channel.Repository;
 import org.wildfly.channel.NoStreamFoundException;
 import org.wildfly.channel.SignedVersionResolverWrapper;
 import org.wildfly.channel.UnresolvedMavenArtifactException;
+import org.wildfly.channel.spi.ArtifactResolutionResult;
 import org.wildfly.channel.spi.MavenVersionsResolver;
 import org.wildfly.channel.spi.SignatureValidator;
 import org.wildfly.channel.version.VersionMatcher;
@@ -221,6 +225,49 @@ public class VersionResolverFactory implements MavenVersionsResolver.Factory {
         public List<File> resolveArtifacts(List<ArtifactCoordinate> coordinates) throws UnresolvedMavenArtifactException {
             requireNonNull(coordinates);
 
+            final List<ArtifactRequest> requests = createArtifactRequests(coordinates);
+
+            final RetryHandler.Supplier artifactQuery = () -> {
+                final List<ArtifactResult> artifactResults = system.resolveArtifacts(session, requests);
+                logArtifactExceptions(artifactResults);
+                // results are in the same order as requests
+                return artifactResults.stream()
+                        .map(ArtifactResult::getArtifact)
+                        .map(Artifact::getFile)
+                        .collect(Collectors.toList());
+            };
+
+            return retryingResolver.attemptResolve(artifactQuery,
+                    VersionResolverFactory::failedArtifacts,
+                    attemptedRepositories());
+        }
+
+        @Override
+        public ArtifactResolutionResult resolveAvailableArtifacts(List<ArtifactCoordinate> coordinates) throws ArtifactTransferException {
+            requireNonNull(coordinates);
+
+            final List<ArtifactRequest> requests = createArtifactRequests(coordinates);
+
+            // results are in the same order as requests, the failed ones don't have an artifact
+            final List<ArtifactResult> artifactResults = retryingResolver.attemptResolveAvailable(() -> system.resolveArtifacts(session, requests),
+                    VersionResolverFactory::failedArtifacts,
+                    attemptedRepositories());
+            logArtifactExceptions(artifactResults);
+
+            final Map<ArtifactCoordinate, File> resolved = new LinkedHashMap<>();
+            final Set<ArtifactCoordinate> unresolved = new LinkedHashSet<>();
+            for (int i = 0; i < coordinates.size(); i++) {
+                final Artifact artifact = artifactResults.get(i).getArtifact();
+                if (artifact != null && artifact.getFile() != null) {
+                    resolved.put(coordinates.get(i), artifact.getFile());
+                } else {
+                    unresolved.add(coordinates.get(i));
+                }
+            }
+            return new ArtifactResolutionResult(resolved, unresolved);
+        }
+
+        private List<ArtifactRequest> createArtifactRequests(List<ArtifactCoordinate> coordinates) {
             List<ArtifactRequest> requests = new ArrayList<>();
             for (ArtifactCoordinate coord : coordinates) {
                 Artifact artifact = new DefaultArtifact(coord.getGroupId(), coord.getArtifactId(), coord.getClassifier(), coord.getExtension(), coord.getVersion());
@@ -232,31 +279,17 @@ public class VersionResolverFactory implements MavenVersionsResolver.Factory {
                 }
                 requests.add(request);
             }
+            return requests;
+        }
 
-            final RetryHandler.Supplier artifactQuery = () -> {
-                final List<ArtifactResult> artifactResults = system.resolveArtifacts(session, requests);
+        private void logArtifactExceptions(List<ArtifactResult> artifactResults) {
+            if (LOG.isDebugEnabled()) {
                 for (ArtifactResult artifactResult : artifactResults) {
-                    if (LOG.isDebugEnabled()) {
-                        for (Exception exception : artifactResult.getExceptions()) {
-                            LOG.debug(String.format("Error resolving maven artifact %s: %s", artifactResult.getRequest().getArtifact(), exception.getMessage()), exception);
-                        }
+                    for (Exception exception : artifactResult.getExceptions()) {
+                        LOG.debug(String.format("Error resolving maven artifact %s: %s", artifactResult.getRequest().getArtifact(), exception.getMessage()), exception);
                     }
                 }
-                // results are in the same order as requests
-                return artifactResults.stream()
-                        .map(ArtifactResult::getArtifact)
-                        .map(Artifact::getFile)
-                        .collect(Collectors.toList());
-            };
-            final Function<ArtifactResolutionException, Set<ArtifactCoordinate>> exceptionMaper = (ex) -> ex.getResults().stream()
-                    .filter(r -> r.getArtifact() == null)
-                    .map(res -> res.getRequest().getArtifact())
-                    .map(a -> new ArtifactCoordinate(a.getGroupId(), a.getArtifactId(), a.getExtension(), a.getClassifier(), a.getVersion()))
-                    .collect(Collectors.toSet());
-
-            return retryingResolver.attemptResolve(artifactQuery,
-                    exceptionMaper,
-                    attemptedRepositories());
+            }
         }
 
         @Override
@@ -370,6 +403,14 @@ public class VersionResolverFactory implements MavenVersionsResolver.Factory {
         }
     }
 
+    private static Set<ArtifactCoordinate> failedArtifacts(ArtifactResolutionException ex) {
+        return ex.getResults().stream()
+                .filter(r -> r.getArtifact() == null)
+                .map(res -> res.getRequest().getArtifact())
+                .map(a -> new ArtifactCoordinate(a.getGroupId(), a.getArtifactId(), a.getExtension(), a.getClassifier(), a.getVersion()))
+                .collect(Collectors.toSet());
+    }
+
     /**
      * Resolve and read the channels at the specified coordinates.
      *
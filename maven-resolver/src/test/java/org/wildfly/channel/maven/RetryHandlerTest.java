@@ -99,4 +99,22 @@ class RetryHandlerTest {
         // in total retry count exceeds the allowed retries (as it was applied to different artifacts)
         assertEquals(8, counter.get());
     }
+
+    @Test
+    public void returnLastResultsAfterRetriesExceeded() throws Exception {
+        final Artifact artifact = new DefaultArtifact("org.test", "one", "jar" ,"1.2.3");
+        final ArtifactResult resolved = new ArtifactResult(new ArtifactRequest(artifact, null, null));
+        resolved.setArtifact(artifact);
+        final ArtifactResult failed = new ArtifactResult(new ArtifactRequest(new DefaultArtifact("org.test", "two", "jar" ,"1.2.3"), null, null));
+        final ArtifactCoordinate coord = Mockito.mock(ArtifactCoordinate.class);
+
+        AtomicInteger counter = new AtomicInteger(0);
+        final List<ArtifactResult> results = resolver.attemptResolveAvailable(() -> {
+            counter.getAndIncrement();
+            throw new ArtifactResolutionException(List.of(resolved, failed));
+        }, (ex) -> Set.of(coord), Collections.emptySet());
+
+        assertEquals(6, counter.get());
+        assertEquals(List.of(resolved, failed), results);
+    }
 }
\ No newline at end of file
@@ -35,6 +35,7 @@ import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.maven.artifact.repository.metadata.Versioning;
@@ -63,6 +64,7 @@ import org.wildfly.channel.ArtifactCoordinate;
 import org.wildfly.channel.Channel;
 import org.wildfly.channel.Repository;
 import org.wildfly.channel.UnresolvedMavenArtifactException;
+import org.wildfly.channel.spi.ArtifactResolutionResult;
 import org.wildfly.channel.spi.MavenVersionsResolver;
 
 public class VersionResolverFactoryTest {
@@ -190,6 +192,34 @@ public class VersionResolverFactoryTest {
         assertEquals(artifactFile2, res.get(1));
     }
 
+    @Test
+    public void testResolverResolveAvailableArtifacts() throws ArtifactResolutionException {
+
+        RepositorySystem system = mock(RepositorySystem.class);
+        RepositorySystemSession session = mock(RepositorySystemSession.class);
+
+        File artifactFile1 = mock(File.class);
+        Artifact artifact1 = new DefaultArtifact("org.foo", "bar", null, null, "1.0.0", null, artifactFile1);
+        ArtifactResult artifactResult1 = new ArtifactResult(new ArtifactRequest(artifact1, null, null));
+        artifactResult1.setArtifact(artifact1);
+
+        Artifact artifact2 = new DefaultArtifact("org.foo.another", "bar2", null, null, "1.0.0");
+        ArtifactResult artifactResult2 = new ArtifactResult(new ArtifactRequest(artifact2, null, null));
+
+        when(system.resolveArtifacts(eq(session), any(List.class)))
+                .thenThrow(new ArtifactResolutionException(Arrays.asList(artifactResult1, artifactResult2)));
+
+        VersionResolverFactory factory = new VersionResolverFactory(system, session);
+        MavenVersionsResolver resolver = factory.create(new Channel());
+
+        final ArtifactCoordinate coordinate1 = new ArtifactCoordinate("org.foo", "bar", null, null, "1.0.0");
+        final ArtifactCoordinate coordinate2 = new ArtifactCoordinate("org.foo.another", "bar2", null, null, "1.0.0");
+        final ArtifactResolutionResult res = resolver.resolveAvailableArtifacts(asList(coordinate1, coordinate2));
+
+        assertEquals(Map.of(coordinate1, artifactFile1), res.getResolved());
+        assertEquals(Set.of(coordinate2), res.getUnresolved());
+    }
+
     @Test
     public void testResolverResolveMetadataUsingUrl() throws ArtifactResolutionException, MalformedURLException {
 